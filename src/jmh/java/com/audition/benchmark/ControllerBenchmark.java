@@ -0,0 +1,72 @@
+package com.audition.benchmark;
+
+import com.audition.loadtest.UpstreamStub;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * The full request path through MockMvc: dispatch, controller, service, caches and serialization, with the upstream
+ * served by an in-process stub without artificial latency.
+ *
+ * <p>{@code cached=false} disables the snapshot, the caches and response-byte caching, so every request also goes
+ * through the integration client and the upstream stub.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private static final int POSTS = 100;
+    private static final int COMMENTS_PER_POST = 5;
+
+    @Param({"/posts", "/posts?category=category3&size=20", "/posts/1", "/posts/1/with-comments",
+        "/posts/1/comments"})
+    private String path;
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private UpstreamStub upstream;
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = new UpstreamStub(Duration.ZERO, POSTS, COMMENTS_PER_POST);
+        context = InProcessApplication.start(upstream.baseUrl(), cached);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public MvcResult get() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get(path)).andReturn();
+    }
+}
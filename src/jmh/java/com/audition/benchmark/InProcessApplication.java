@@ -0,0 +1,39 @@
+package com.audition.benchmark;
+
+import com.audition.AuditionApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application against an in-process {@code UpstreamStub} (from the load-test source set), either with all
+ * of its caches or with every request going to the upstream.
+ */
+final class InProcessApplication {
+
+    private InProcessApplication() {
+    }
+
+    static ConfigurableApplicationContext start(final String upstream, final boolean cached) {
+        final List<String> properties = new ArrayList<>(List.of(
+            "server.port=0",
+            "audition.api.base-url=" + upstream,
+            "logging.level.root=WARN",
+            "logging.level.com.audition=WARN",
+            "audition.api.client.logging.enabled=false"));
+        if (!cached) {
+            properties.addAll(List.of(
+                "audition.snapshot.enabled=false",
+                "audition.cache.posts.maximum-size=0",
+                "audition.cache.post.maximum-size=0",
+                "audition.cache.comments.maximum-size=0",
+                "audition.cache.post-with-comments.maximum-size=0",
+                "audition.api.client.conditional.enabled=false",
+                "audition.response-cache.enabled=false"));
+        }
+        return new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(properties.toArray(String[]::new))
+            .run();
+    }
+}
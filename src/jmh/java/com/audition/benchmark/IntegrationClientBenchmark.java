@@ -0,0 +1,65 @@
+package com.audition.benchmark;
+
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.loadtest.UpstreamStub;
+import com.audition.model.AuditionPost;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * {@link AuditionIntegrationClient#getPosts(String)} category filtering as wired in the application: pooled
+ * HTTP client, interceptors, resilience and streaming decode, against an in-process upstream stub.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IntegrationClientBenchmark {
+
+    @Param({"100", "5000"})
+    private int posts;
+
+    private UpstreamStub upstream;
+    private ConfigurableApplicationContext context;
+    private AuditionIntegrationClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        upstream = new UpstreamStub(Duration.ZERO, posts, 0);
+        context = InProcessApplication.start(upstream.baseUrl(), false);
+        client = context.getBean(AuditionIntegrationClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public List<AuditionPost> allPosts() {
+        return client.getPosts(null);
+    }
+
+    @Benchmark
+    public List<AuditionPost> postsInCategory() {
+        return client.getPosts("category3");
+    }
+}
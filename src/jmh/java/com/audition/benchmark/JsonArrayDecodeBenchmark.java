@@ -0,0 +1,86 @@
+package com.audition.benchmark;
+
+import com.audition.integration.JsonArrayReader;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares decoding a large upstream post array in one go, as the client used to, with decoding it as a stream.
+ *
+ * <p>Run with {@code ./gradlew jmh}; allocation per operation is reported as {@code gc.alloc.rate.norm}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonArrayDecodeBenchmark {
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"1000", "100000"})
+    private int posts;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Predicate<AuditionPost> inCategory = post -> "category-7".equalsIgnoreCase(post.getCategory());
+
+    private JsonArrayReader<AuditionPost> reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        final List<AuditionPost> generated = new ArrayList<>(posts);
+        for (int i = 1; i <= posts; i++) {
+            generated.add(new AuditionPost(i % 100, i, "Title of post " + i,
+                "Body of post " + i + " with enough text to resemble a real post body.", "category-" + i % CATEGORIES,
+                null));
+        }
+        payload = objectMapper.writeValueAsBytes(generated);
+        reader = new JsonArrayReader<>(objectMapper, AuditionPost.class);
+    }
+
+    /**
+     * The old path: the buffered body copied to a String for logging, then bound to an array and filtered.
+     */
+    @Benchmark
+    public List<AuditionPost> bufferedStringThenArray() throws IOException {
+        final String body = new String(payload, StandardCharsets.UTF_8);
+        final AuditionPost[] all = objectMapper.readValue(body, AuditionPost[].class);
+        return Arrays.stream(all).filter(inCategory).collect(Collectors.toList());
+    }
+
+    /**
+     * Array binding straight off the stream, without the logging copy.
+     */
+    @Benchmark
+    public List<AuditionPost> arrayThenFilter() throws IOException {
+        final AuditionPost[] all = objectMapper.readValue(new ByteArrayInputStream(payload), AuditionPost[].class);
+        return Arrays.stream(all).filter(inCategory).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<AuditionPost> streamingFilter() throws IOException {
+        return reader.read(new ByteArrayInputStream(payload), inCategory);
+    }
+}
@@ -0,0 +1,104 @@
+package com.audition.benchmark;
+
+import com.audition.configuration.WebServiceConfiguration;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization and deserialization of posts and comments with the application's {@code ObjectMapper}, at the sizes
+ * jsonplaceholder serves (100 posts, 5 comments each) and at a larger catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObjectMapperBenchmark {
+
+    private static final int COMMENTS_PER_POST = 5;
+
+    @Param({"100", "5000"})
+    private int posts;
+
+    private ObjectWriter writer;
+    private ObjectReader postsReader;
+    private ObjectReader commentsReader;
+
+    private List<AuditionPost> postList;
+    private List<Comment> commentList;
+    private AuditionPost postWithComments;
+    private byte[] postsJson;
+    private byte[] commentsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Only the mapper bean is used; it needs none of the configuration's collaborators.
+        final ObjectMapper objectMapper = new WebServiceConfiguration(null, null).objectMapper();
+        writer = objectMapper.writer();
+        postsReader = objectMapper.readerFor(AuditionPost[].class);
+        commentsReader = objectMapper.readerFor(Comment[].class);
+
+        postList = new ArrayList<>(posts);
+        commentList = new ArrayList<>(posts * COMMENTS_PER_POST);
+        for (int id = 1; id <= posts; id++) {
+            postList.add(new AuditionPost(id % 10 + 1, id, "sunt aut facere repellat provident occaecati " + id,
+                "quia et suscipit suscipit recusandae consequuntur expedita et cum reprehenderit molestiae ut ut "
+                    + "quas totam nostrum rerum est autem sunt rem eveniet architecto " + id,
+                "category" + id % 5, null));
+            for (int i = 1; i <= COMMENTS_PER_POST; i++) {
+                final int commentId = (id - 1) * COMMENTS_PER_POST + i;
+                commentList.add(new Comment(commentId, id, "id labore ex et quam laborum " + commentId,
+                    "user" + commentId % 50 + "@example.com",
+                    "laudantium enim quasi est quidem magnam voluptate ipsam eos tempora quo necessitatibus "
+                        + commentId));
+            }
+        }
+        postWithComments = postList.get(0).withComments(commentList.subList(0, COMMENTS_PER_POST));
+        postsJson = writer.writeValueAsBytes(postList);
+        commentsJson = writer.writeValueAsBytes(commentList);
+    }
+
+    @Benchmark
+    public byte[] serializePosts() throws IOException {
+        return writer.writeValueAsBytes(postList);
+    }
+
+    @Benchmark
+    public AuditionPost[] deserializePosts() throws IOException {
+        return postsReader.readValue(postsJson);
+    }
+
+    @Benchmark
+    public byte[] serializeComments() throws IOException {
+        return writer.writeValueAsBytes(commentList);
+    }
+
+    @Benchmark
+    public Comment[] deserializeComments() throws IOException {
+        return commentsReader.readValue(commentsJson);
+    }
+
+    @Benchmark
+    public byte[] serializePostWithComments() throws IOException {
+        return writer.writeValueAsBytes(postWithComments);
+    }
+}
@@ -0,0 +1,131 @@
+package com.audition.benchmark;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation per request of a post with comments: the immutable model against the previous mutable one, whose getter
+ * and setter copied the comment list.
+ *
+ * <p>Compare {@code gc.alloc.rate.norm} (bytes per operation) in the results.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostModelBenchmark {
+
+    @Param({"5", "100"})
+    private int comments;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Comment[] upstreamComments;
+    private AuditionPost post;
+    private CopyingPost copyingPost;
+
+    @Setup
+    public void setUp() {
+        upstreamComments = new Comment[comments];
+        for (int i = 0; i < comments; i++) {
+            upstreamComments[i] = new Comment(i + 1, 1, "Commenter " + i, "commenter" + i + "@example.com",
+                "Comment body " + i);
+        }
+        post = new AuditionPost(1, 1, "Title", "Body", "News", null).withComments(List.of(upstreamComments));
+        copyingPost = new CopyingPost(1, 1, "Title", "Body", "News");
+        copyingPost.setComments(Arrays.asList(upstreamComments));
+    }
+
+    @Benchmark
+    public byte[] serializeCopyingModel() throws IOException {
+        return objectMapper.writeValueAsBytes(copyingPost);
+    }
+
+    @Benchmark
+    public byte[] serializeImmutableModel() throws IOException {
+        return objectMapper.writeValueAsBytes(post);
+    }
+
+    /**
+     * Attaching fetched comments to a fetched post, as {@code getPostWithComments} does.
+     */
+    @Benchmark
+    public CopyingPost attachCommentsCopyingModel() {
+        final CopyingPost fetched = new CopyingPost(1, 1, "Title", "Body", "News");
+        fetched.setComments(Arrays.asList(upstreamComments));
+        return fetched;
+    }
+
+    @Benchmark
+    public AuditionPost attachCommentsImmutableModel() {
+        return new AuditionPost(1, 1, "Title", "Body", "News", null).withComments(List.of(upstreamComments));
+    }
+
+    /**
+     * The model as it was before it became immutable.
+     */
+    public static class CopyingPost {
+
+        private final int userId;
+        private final int id;
+        private final String title;
+        private final String body;
+        private final String category;
+        private List<Comment> comments;
+
+        CopyingPost(final int userId, final int id, final String title, final String body, final String category) {
+            this.userId = userId;
+            this.id = id;
+            this.title = title;
+            this.body = body;
+            this.category = category;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public List<Comment> getComments() {
+            return comments == null ? null : new ArrayList<>(comments);
+        }
+
+        public void setComments(final List<Comment> comments) {
+            this.comments = comments == null ? null : new ArrayList<>(comments);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.audition.loadtest;
+
+import com.audition.AuditionApplication;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Drives each read endpoint in turn against the in-process upstream stub and reports throughput, p50 / p99 / p99.9
+ * latency and allocation rate per scenario.
+ *
+ * <p>Tunable through system properties:</p>
+ * <ul>
+ *     <li>{@code loadtest.scenarios} comma-separated subset of {@code posts, post, comments, with-comments}
+ *     (default all)</li>
+ *     <li>{@code loadtest.connections} concurrent client connections (default 200)</li>
+ *     <li>{@code loadtest.duration} measured run per scenario, ISO-8601 (default PT30S)</li>
+ *     <li>{@code loadtest.warmup} unmeasured run per scenario, ISO-8601 (default PT10S)</li>
+ *     <li>{@code loadtest.cached} keep the application's caches and snapshot enabled (default true)</li>
+ *     <li>{@code loadtest.admission} keep the adaptive concurrency limit enabled; rejected requests count as errors
+ *     (default true)</li>
+ *     <li>{@code loadtest.upstream-latency} artificial upstream latency, ISO-8601 (default PT0.02S)</li>
+ *     <li>{@code loadtest.upstream-error-rate} fraction of upstream requests failed with a 503 (default 0)</li>
+ *     <li>{@code loadtest.upstream-body-size} length of each upstream post and comment body (default 0, short)</li>
+ *     <li>{@code loadtest.upstream-posts} and {@code loadtest.upstream-comments-per-post} upstream data size
+ *     (defaults 100 and 5)</li>
+ * </ul>
+ */
+public final class EndToEndLoadTest {
+
+    private EndToEndLoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int connections = Integer.getInteger("loadtest.connections", 200);
+        final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        final boolean cached = Boolean.parseBoolean(System.getProperty("loadtest.cached", "true"));
+        final boolean admission = Boolean.parseBoolean(System.getProperty("loadtest.admission", "true"));
+        final Duration latency = Duration.parse(System.getProperty("loadtest.upstream-latency", "PT0.02S"));
+        final double errorRate = Double.parseDouble(System.getProperty("loadtest.upstream-error-rate", "0"));
+        final int bodySize = Integer.getInteger("loadtest.upstream-body-size", 0);
+        final int postCount = Integer.getInteger("loadtest.upstream-posts", 100);
+        final int commentsPerPost = Integer.getInteger("loadtest.upstream-comments-per-post", 5);
+
+        final Map<String, IntFunction<String>> scenarios = scenarios(postCount);
+        final List<String> selected = Arrays.stream(
+                System.getProperty("loadtest.scenarios", String.join(",", scenarios.keySet())).split(","))
+            .map(String::trim)
+            .filter(scenario -> !scenario.isEmpty())
+            .toList();
+
+        final List<LoadDriver.Result> results = new ArrayList<>();
+        try (UpstreamStub upstream = new UpstreamStub(latency, postCount, commentsPerPost, errorRate, bodySize);
+            ConfigurableApplicationContext app = start(upstream.baseUrl(), cached, admission, connections)) {
+            final int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            final LoadDriver driver = new LoadDriver("http://127.0.0.1:" + port, connections, Duration.ofSeconds(30));
+            for (final String scenario : selected) {
+                final IntFunction<String> paths = scenarios.get(scenario);
+                if (paths == null) {
+                    throw new IllegalArgumentException("Unknown scenario " + scenario + ", expected one of "
+                        + scenarios.keySet());
+                }
+                driver.run(scenario, paths, warmup);
+                results.add(driver.run(scenario, paths, duration));
+            }
+        }
+
+        System.out.println();
+        System.out.println("connections=" + connections + " cached=" + cached + " admission=" + admission
+            + " upstream-latency=" + latency.toMillis() + "ms upstream-error-rate=" + errorRate
+            + " upstream-body-size=" + bodySize);
+        results.forEach(System.out::println);
+    }
+
+    private static Map<String, IntFunction<String>> scenarios(final int postCount) {
+        final Map<String, IntFunction<String>> scenarios = new LinkedHashMap<>();
+        scenarios.put("posts", random -> "/posts");
+        scenarios.put("post", random -> "/posts/" + (random % postCount + 1));
+        scenarios.put("comments", random -> "/posts/" + (random % postCount + 1) + "/comments");
+        scenarios.put("with-comments", random -> "/posts/" + (random % postCount + 1) + "/with-comments");
+        return scenarios;
+    }
+
+    private static ConfigurableApplicationContext start(final String upstream, final boolean cached,
+        final boolean admission, final int connections) {
+        final List<String> properties = new ArrayList<>(List.of(
+            "server.port=0",
+            "server.tomcat.max-connections=" + (connections + 1000),
+            "server.tomcat.accept-count=" + connections,
+            "audition.api.base-url=" + upstream,
+            "audition.api.client.max-connections-total=" + connections,
+            "audition.api.client.max-connections-per-route=" + connections,
+            "audition.resilience.bulkhead.max-concurrent-calls=" + connections,
+            "audition.admission.enabled=" + admission,
+            "logging.level.root=WARN",
+            "logging.level.com.audition=WARN"));
+        if (!cached) {
+            properties.addAll(List.of(
+                "audition.snapshot.enabled=false",
+                "audition.cache.posts.maximum-size=0",
+                "audition.cache.post.maximum-size=0",
+                "audition.cache.comments.maximum-size=0",
+                "audition.cache.post-with-comments.maximum-size=0",
+                "audition.response-cache.enabled=false"));
+        }
+        return new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(properties.toArray(String[]::new))
+            .run();
+    }
+}
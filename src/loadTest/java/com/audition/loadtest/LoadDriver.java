@@ -0,0 +1,147 @@
+package com.audition.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load generator: a fixed number of virtual-thread clients, each with its own connection, issue requests
+ * back to back for a fixed duration and record per-request latency.
+ *
+ * <p>Allocation is read from the JVM-wide allocated-bytes counter, so it covers everything running in this JVM: the
+ * application, the driver and, when in-process, the upstream stub.</p>
+ */
+public final class LoadDriver {
+
+    private final String baseUrl;
+    private final int connections;
+    private final Duration requestTimeout;
+
+    public LoadDriver(final String baseUrl, final int connections, final Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.connections = connections;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Drives the given paths for {@code duration} and reports the measured throughput and latency.
+     *
+     * @param paths produces the request path for a random number, so scenarios can spread load across IDs
+     */
+    public Result run(final String scenario, final IntFunction<String> paths, final Duration duration)
+        throws Exception {
+        final long deadline = System.nanoTime() + duration.toNanos();
+        final List<Future<Samples>> workers = new ArrayList<>(connections);
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                workers.add(executor.submit(() -> drive(client, paths, deadline)));
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = allocatedBytes() - allocatedBefore;
+
+        final Samples all = new Samples();
+        for (final Future<Samples> worker : workers) {
+            all.addAll(worker.get());
+        }
+        return all.summarise(scenario, elapsed, allocated);
+    }
+
+    private static long allocatedBytes() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+            ? threads.getTotalThreadAllocatedBytes() : 0;
+    }
+
+    private Samples drive(final HttpClient client, final IntFunction<String> paths, final long deadline) {
+        final Samples samples = new Samples();
+        while (System.nanoTime() < deadline) {
+            final HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + paths.apply(ThreadLocalRandom.current().nextInt(Integer.MAX_VALUE))))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+            final long begin = System.nanoTime();
+            try {
+                final HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                samples.record(System.nanoTime() - begin, response.statusCode() < 500);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (final Exception e) {
+                samples.record(System.nanoTime() - begin, false);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * Outcome of one scenario.
+     */
+    public record Result(String scenario, long requests, long errors, double throughput, double p50Millis,
+                         double p99Millis, double p999Millis, double allocatedMbPerSecond) {
+
+        @Override
+        public String toString() {
+            return String.format("%-28s requests=%-9d errors=%-7d throughput=%10.1f req/s  p50=%8.2f ms  "
+                + "p99=%8.2f ms  p99.9=%8.2f ms  alloc=%8.1f MB/s", scenario, requests, errors, throughput,
+                p50Millis, p99Millis, p999Millis, allocatedMbPerSecond);
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(final long latencyNanos, final boolean success) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void addAll(final Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.latencies[i], true);
+            }
+            errors += other.errors;
+        }
+
+        Result summarise(final String scenario, final long elapsedNanos, final long allocatedBytes) {
+            final long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            final double seconds = elapsedNanos / 1_000_000_000.0;
+            return new Result(scenario, size, errors, size / seconds, percentile(sorted, 0.50),
+                percentile(sorted, 0.99), percentile(sorted, 0.999), allocatedBytes / seconds / (1024 * 1024));
+        }
+
+        private static double percentile(final long[] sorted, final double quantile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            final int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.audition.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal in-process stand-in for jsonplaceholder serving {@code /posts}, {@code /posts?id=...}, {@code /posts/{id}},
+ * {@code /posts/{id}/comments} and {@code /comments}, filtered by post or not, after a fixed artificial latency.
+ *
+ * <p>Optionally fails a fixed fraction of requests with a 503, spread evenly rather than at random so runs are
+ * repeatable, and pads post and comment bodies to a given length to vary the payload size.</p>
+ */
+public final class UpstreamStub implements AutoCloseable {
+
+    private static final Pattern POST = Pattern.compile("/posts/(\\d+)");
+    private static final Pattern POST_COMMENTS = Pattern.compile("/posts/(\\d+)/comments");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+    private final int postCount;
+    private final int commentsPerPost;
+    private final double errorRate;
+    private final int bodySize;
+    private final AtomicLong requests = new AtomicLong();
+
+    public UpstreamStub(final Duration latency, final int postCount, final int commentsPerPost) throws IOException {
+        this(latency, postCount, commentsPerPost, 0, 0);
+    }
+
+    /**
+     * @param errorRate fraction of requests answered with a 503, between 0 and 1
+     * @param bodySize  length each post and comment body is padded to; 0 keeps the short default bodies
+     */
+    public UpstreamStub(final Duration latency, final int postCount, final int commentsPerPost,
+        final double errorRate, final int bodySize) throws IOException {
+        this.latency = latency;
+        this.postCount = postCount;
+        this.commentsPerPost = commentsPerPost;
+        this.errorRate = errorRate;
+        this.bodySize = bodySize;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sleep(latency);
+            if (shouldFail()) {
+                respond(exchange, 503, "{}");
+                return;
+            }
+            final String path = exchange.getRequestURI().getPath();
+            final String query = exchange.getRequestURI().getQuery();
+            Matcher matcher;
+            if ("/posts".equals(path) && query != null && query.startsWith("id=")) {
+                respond(exchange, 200, posts(query));
+            } else if ("/posts".equals(path)) {
+                respond(exchange, 200, posts());
+            } else if ((matcher = POST_COMMENTS.matcher(path)).matches()) {
+                respond(exchange, 200, comments(Integer.parseInt(matcher.group(1))));
+            } else if ((matcher = POST.matcher(path)).matches()) {
+                final int id = Integer.parseInt(matcher.group(1));
+                if (id < 1 || id > postCount) {
+                    respond(exchange, 404, "{}");
+                } else {
+                    respond(exchange, 200, post(id));
+                }
+            } else if ("/comments".equals(path) && query != null && query.startsWith("postId=")) {
+                respond(exchange, 200, comments(Integer.parseInt(query.substring("postId=".length()))));
+            } else if ("/comments".equals(path) && query == null) {
+                respond(exchange, 200, allComments());
+            } else {
+                respond(exchange, 404, "{}");
+            }
+        }
+    }
+
+    private String posts() {
+        final StringBuilder json = new StringBuilder(postCount * 160).append('[');
+        for (int id = 1; id <= postCount; id++) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append(post(id));
+        }
+        return json.append(']').toString();
+    }
+
+    private String posts(final String query) {
+        final StringJoiner json = new StringJoiner(",", "[", "]");
+        for (final String param : query.split("&")) {
+            final int id = Integer.parseInt(param.substring("id=".length()));
+            if (id >= 1 && id <= postCount) {
+                json.add(post(id));
+            }
+        }
+        return json.toString();
+    }
+
+    private String post(final int id) {
+        return "{\"userId\":" + (id % 10 + 1) + ",\"id\":" + id + ",\"title\":\"title " + id
+            + "\",\"body\":\"" + pad("body of post " + id) + "\",\"category\":\"category" + (id % 5) + "\"}";
+    }
+
+    private String comments(final int postId) {
+        final StringBuilder json = new StringBuilder(commentsPerPost * 160).append('[');
+        appendComments(json, postId);
+        return json.append(']').toString();
+    }
+
+    private String allComments() {
+        final StringBuilder json = new StringBuilder(postCount * commentsPerPost * 160).append('[');
+        for (int postId = 1; postId <= postCount; postId++) {
+            if (postId > 1 && commentsPerPost > 0) {
+                json.append(',');
+            }
+            appendComments(json, postId);
+        }
+        return json.append(']').toString();
+    }
+
+    private void appendComments(final StringBuilder json, final int postId) {
+        for (int i = 1; i <= commentsPerPost; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            final int id = (postId - 1) * commentsPerPost + i;
+            json.append("{\"postId\":").append(postId).append(",\"id\":").append(id)
+                .append(",\"name\":\"comment ").append(id).append("\",\"email\":\"user").append(id % 50)
+                .append("@example.com\",\"body\":\"").append(pad("comment body " + id)).append("\"}");
+        }
+    }
+
+    // Fails request n when the running total n * errorRate crosses an integer, i.e. exactly errorRate of them.
+    private boolean shouldFail() {
+        if (errorRate <= 0) {
+            return false;
+        }
+        final long n = requests.incrementAndGet();
+        return (long) (n * errorRate) > (long) ((n - 1) * errorRate);
+    }
+
+    private String pad(final String body) {
+        return body.length() >= bodySize ? body : body + " " + "x".repeat(bodySize - body.length() - 1);
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.audition.loadtest;
+
+import com.audition.AuditionApplication;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures {@code GET /posts/{id}} throughput with platform-thread and with virtual-thread request handling.
+ *
+ * <p>Caches and the posts snapshot are disabled so every request blocks on the (slow) upstream stub, which is the
+ * situation virtual threads are meant to help with. Tunable through system properties:</p>
+ * <ul>
+ *     <li>{@code loadtest.connections} concurrent client connections (default 5000)</li>
+ *     <li>{@code loadtest.duration} measured run per mode, ISO-8601 (default PT30S)</li>
+ *     <li>{@code loadtest.warmup} unmeasured run per mode, ISO-8601 (default PT10S)</li>
+ *     <li>{@code loadtest.upstream-latency} artificial upstream latency, ISO-8601 (default PT0.1S)</li>
+ * </ul>
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final int POST_COUNT = 100;
+
+    private VirtualThreadLoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int connections = Integer.getInteger("loadtest.connections", 5000);
+        final Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT30S"));
+        final Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        final Duration latency = Duration.parse(System.getProperty("loadtest.upstream-latency", "PT0.1S"));
+
+        final List<LoadDriver.Result> results = new ArrayList<>();
+        try (UpstreamStub upstream = new UpstreamStub(latency, POST_COUNT, 5)) {
+            for (final boolean virtual : new boolean[]{false, true}) {
+                try (ConfigurableApplicationContext app = start(upstream.baseUrl(), virtual, connections)) {
+                    final int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+                    final LoadDriver driver = new LoadDriver("http://127.0.0.1:" + port, connections,
+                        Duration.ofSeconds(30));
+                    final String scenario = virtual ? "GET /posts/{id} virtual" : "GET /posts/{id} platform";
+                    driver.run(scenario, LoadTestPaths::post, warmup);
+                    results.add(driver.run(scenario, LoadTestPaths::post, duration));
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("connections=" + connections + " upstream-latency=" + latency.toMillis() + "ms");
+        results.forEach(System.out::println);
+    }
+
+    static ConfigurableApplicationContext start(final String upstream, final boolean virtualThreads,
+        final int connections) {
+        return new SpringApplicationBuilder(AuditionApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.max-connections=" + (connections + 1000),
+                "server.tomcat.accept-count=" + connections,
+                "audition.api.base-url=" + upstream,
+                "audition.threads.virtual.enabled=" + virtualThreads,
+                "audition.api.client.max-connections-total=" + connections,
+                "audition.api.client.max-connections-per-route=" + connections,
+                "audition.resilience.bulkhead.max-concurrent-calls=" + connections,
+                "audition.admission.enabled=false",
+                "audition.snapshot.enabled=false",
+                "audition.cache.post.maximum-size=0",
+                "audition.cache.post.time-to-live=1ms",
+                "logging.level.root=WARN",
+                "logging.level.com.audition=WARN")
+            .run();
+    }
+
+    /**
+     * Request paths shared by the load-test scenarios.
+     */
+    static final class LoadTestPaths {
+
+        private LoadTestPaths() {
+        }
+
+        static String post(final int random) {
+            return "/posts/" + (random % POST_COUNT + 1);
+        }
+    }
+}
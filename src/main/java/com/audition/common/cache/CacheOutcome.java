@@ -0,0 +1,109 @@
+package com.audition.common.cache;
+
+import jakarta.servlet.ServletRequest;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers, for the web request handled on the current thread, whether its data was served from memory or had to be
+ * loaded, so request metrics can be split by cache hit and miss. A request that missed anywhere counts as a miss, and
+ * one that was served any stale data, because the upstream could not be reached, counts as stale.
+ *
+ * <p>Outside a web request, e.g. on background refresh threads, recording does nothing. Work a request hands to
+ * another thread records into that request once it is wrapped with {@link #propagate(Supplier)}.</p>
+ */
+public final class CacheOutcome {
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String STALE = "stale";
+    public static final String NONE = "none";
+
+    private static final String ATTRIBUTE = CacheOutcome.class.getName();
+    private static final ThreadLocal<AtomicReference<String>> PROPAGATED = new ThreadLocal<>();
+
+    private CacheOutcome() {
+    }
+
+    public static void hit() {
+        record(HIT);
+    }
+
+    public static void miss() {
+        record(MISS);
+    }
+
+    public static void stale() {
+        record(STALE);
+    }
+
+    /**
+     * Binds the outcome of the current request, if any, to {@code task}, so that whatever it records on another thread
+     * counts towards this request.
+     */
+    public static <T> Supplier<T> propagate(final Supplier<T> task) {
+        final AtomicReference<String> outcome = current();
+        if (outcome == null) {
+            return task;
+        }
+        return () -> {
+            final AtomicReference<String> outer = PROPAGATED.get();
+            PROPAGATED.set(outcome);
+            try {
+                return task.get();
+            } finally {
+                if (outer == null) {
+                    PROPAGATED.remove();
+                } else {
+                    PROPAGATED.set(outer);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns {@link #HIT}, {@link #MISS}, {@link #STALE}, or {@link #NONE} if the request did not read any cache.
+     */
+    public static String of(final ServletRequest request) {
+        final Object outcome = request.getAttribute(ATTRIBUTE);
+        return outcome == null ? NONE : ((AtomicReference<?>) outcome).get().toString();
+    }
+
+    // Updated atomically, since tasks propagated from one request may record concurrently.
+    private static void record(final String outcome) {
+        final AtomicReference<String> current = current();
+        if (current != null) {
+            current.accumulateAndGet(outcome, (previous, next) -> rank(next) > rank(previous) ? next : previous);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<String> current() {
+        final AtomicReference<String> propagated = PROPAGATED.get();
+        if (propagated != null) {
+            return propagated;
+        }
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        final Object existing = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (existing != null) {
+            return (AtomicReference<String>) existing;
+        }
+        final AtomicReference<String> created = new AtomicReference<>(NONE);
+        attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+        return created;
+    }
+
+    private static int rank(final String outcome) {
+        return switch (outcome) {
+            case STALE -> 2;
+            case MISS -> 1;
+            case HIT -> 0;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.audition.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache that collapses concurrent misses for the same key into a single load.
+ *
+ * <p>Callers that miss while another thread is already loading the same key wait for that load and share its
+ * result, or its exception. Failed loads are never cached.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class CoalescingCache<K, V> {
+
+    private final Cache<K, V> cache;
+    private final Cache<K, V> stale;
+    private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingCache(final long maximumSize, final Duration timeToLive) {
+        this(maximumSize, timeToLive, timeToLive);
+    }
+
+    /**
+     * Creates a cache that additionally retains values for {@code staleTimeToLive} after they stop being served, so
+     * that they can still be used as a fallback through {@link #peekStale(Object)}.
+     */
+    public CoalescingCache(final long maximumSize, final Duration timeToLive, final Duration staleTimeToLive) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats(() -> statsCounter)
+            .build();
+        this.stale = staleTimeToLive.compareTo(timeToLive) > 0
+            ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(staleTimeToLive).build()
+            : null;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it at most once across concurrent callers on a miss.
+     *
+     * @param key    the cache key
+     * @param loader loads the value on a miss; must not return {@code null}
+     * @return the cached or freshly loaded value
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        final V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            CacheOutcome.hit();
+            return cached;
+        }
+        CacheOutcome.miss();
+
+        final CompletableFuture<V> load = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // A load for this key may have completed between our miss and claiming the in-flight slot.
+            final V loadedMeanwhile = cache.policy().getIfPresentQuietly(key);
+            if (loadedMeanwhile != null) {
+                load.complete(loadedMeanwhile);
+                return loadedMeanwhile;
+            }
+            final V value = load(key, loader);
+            load.complete(value);
+            return value;
+        } catch (final RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Returns the cached value without triggering a load or affecting hit/miss statistics.
+     */
+    public Optional<V> peek(final K key) {
+        return Optional.ofNullable(cache.policy().getIfPresentQuietly(key));
+    }
+
+    /**
+     * Returns the freshest known value, even if it has already expired from the cache, without loading.
+     */
+    public Optional<V> peekStale(final K key) {
+        final Optional<V> fresh = peek(key);
+        if (fresh.isPresent() || stale == null) {
+            return fresh;
+        }
+        return Optional.ofNullable(stale.getIfPresent(key));
+    }
+
+    public void put(final K key, final V value) {
+        cache.put(key, value);
+        if (stale != null) {
+            stale.put(key, value);
+        }
+    }
+
+    /**
+     * Makes {@code value} available to {@link #peekStale(Object)} only, without serving it as fresh. Used to seed
+     * fallback data from an earlier run; does nothing if this cache keeps no stale values.
+     */
+    public void putStale(final K key, final V value) {
+        if (stale != null) {
+            stale.asMap().putIfAbsent(key, value);
+        }
+    }
+
+    /**
+     * Returns a copy of every value still retained, fresh or stale, by key.
+     */
+    public Map<K, V> retained() {
+        final Map<K, V> retained = stale == null ? new HashMap<>() : new HashMap<>(stale.asMap());
+        retained.putAll(cache.asMap());
+        return retained;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (stale != null) {
+            stale.invalidateAll();
+        }
+    }
+
+    /**
+     * Registers hit, miss, eviction and load-time metrics for this cache under the given name.
+     */
+    public void bindTo(final MeterRegistry registry, final String name) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    private V load(final K key, final Function<? super K, ? extends V> loader) {
+        final long start = System.nanoTime();
+        final V value;
+        try {
+            value = loader.apply(key);
+        } catch (final RuntimeException e) {
+            statsCounter.recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        if (value == null) {
+            statsCounter.recordLoadFailure(System.nanoTime() - start);
+            throw new IllegalStateException("Cache loader returned null for key " + key);
+        }
+        statsCounter.recordLoadSuccess(System.nanoTime() - start);
+        put(key, value);
+        return value;
+    }
+
+    private static <V> V await(final CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.audition.common.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds a whole dataset as a single snapshot and serves it stale-while-revalidate.
+ *
+ * <p>Reads return the current snapshot immediately. Once it is older than the soft TTL a background refresh is
+ * started and the stale snapshot keeps being served until it completes. Callers only block on a cold start or once
+ * the snapshot is older than the hard TTL. At most one refresh runs at a time; concurrent triggers share it.</p>
+ *
+ * <p>A snapshot can also be {@linkplain #restore(Object, Instant) restored} from a previous run. A restored snapshot
+ * is served, as stale, whatever its age, and is replaced by the first successful refresh. A snapshot past its soft TTL
+ * whose last refresh failed is also served as stale, since it can no longer be brought up to date.</p>
+ *
+ * @param <T> snapshot type
+ */
+public class RefreshingSnapshot<T> {
+
+    private static final String NAME_TAG = "name";
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Timer successTimer;
+    private final Timer failureTimer;
+
+    private final AtomicReference<Entry<T>> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Entry<T>>> inFlight = new AtomicReference<>();
+    private final List<Consumer<? super T>> refreshListeners = new CopyOnWriteArrayList<>();
+    private volatile long lastRefreshNanos;
+    private volatile boolean lastRefreshFailed;
+
+    public RefreshingSnapshot(final String name, final Supplier<T> loader, final Duration softTtl,
+        final Duration hardTtl, final Executor refreshExecutor, final MeterRegistry registry) {
+        this(name, loader, softTtl, hardTtl, refreshExecutor, registry, Clock.systemUTC());
+    }
+
+    RefreshingSnapshot(final String name, final Supplier<T> loader, final Duration softTtl, final Duration hardTtl,
+        final Executor refreshExecutor, final MeterRegistry registry, final Clock clock) {
+        this.name = name;
+        this.loader = loader;
+        this.softTtl = softTtl;
+        this.hardTtl = hardTtl;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.successTimer = refreshTimer(registry, "success");
+        this.failureTimer = refreshTimer(registry, "failure");
+        Gauge.builder("audition.snapshot.age", this, RefreshingSnapshot::ageSeconds)
+            .description("Seconds since the snapshot was last refreshed")
+            .baseUnit("seconds")
+            .tag(NAME_TAG, name)
+            .register(registry);
+        Gauge.builder("audition.snapshot.refresh.last.duration", this,
+                snapshot -> snapshot.lastRefreshNanos / (double) TimeUnit.SECONDS.toNanos(1))
+            .description("Duration of the most recent snapshot refresh")
+            .baseUnit("seconds")
+            .tag(NAME_TAG, name)
+            .register(registry);
+    }
+
+    /**
+     * Returns the current snapshot, blocking only on a cold start or after hard expiry.
+     */
+    public T get() {
+        final Entry<T> entry = current.get();
+        if (entry == null || isHardExpired(entry)) {
+            CacheOutcome.miss();
+            return await(refresh(Runnable::run)).value();
+        }
+        return serve(entry);
+    }
+
+    /**
+     * Returns the current snapshot if one is loaded and not hard-expired, without ever blocking.
+     */
+    public Optional<T> peek() {
+        final Entry<T> entry = current.get();
+        if (entry == null || isHardExpired(entry)) {
+            return Optional.empty();
+        }
+        return Optional.of(serve(entry));
+    }
+
+    /**
+     * Returns the most recently loaded snapshot regardless of its age, for use when the upstream is unavailable.
+     */
+    public Optional<T> lastKnown() {
+        return Optional.ofNullable(current.get()).map(Entry::value);
+    }
+
+    /**
+     * Returns when the most recently loaded snapshot was fetched, or saved for a restored one.
+     */
+    public Optional<Instant> lastKnownAt() {
+        return Optional.ofNullable(current.get()).map(Entry::fetchedAt);
+    }
+
+    /**
+     * Seeds the snapshot with a value saved by a previous run at {@code savedAt}, unless one has already been loaded.
+     * The restored value is served immediately and refreshed in the background on first read.
+     *
+     * @return whether the value was restored
+     */
+    public boolean restore(final T value, final Instant savedAt) {
+        return current.compareAndSet(null, new Entry<>(value, savedAt, true));
+    }
+
+    /**
+     * Registers a callback run with each successfully loaded snapshot, on the thread that loaded it.
+     */
+    public void onRefresh(final Consumer<? super T> listener) {
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * Starts a background refresh unless one is already running.
+     */
+    public CompletableFuture<T> refreshAsync() {
+        return refresh(refreshExecutor).thenApply(Entry::value);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private CompletableFuture<Entry<T>> refresh(final Executor executor) {
+        while (true) {
+            final CompletableFuture<Entry<T>> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            final CompletableFuture<Entry<T>> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                try {
+                    executor.execute(() -> load(refresh));
+                } catch (final RejectedExecutionException e) {
+                    // Otherwise the refresh would stay in flight, and every later one would join it, for good.
+                    inFlight.compareAndSet(refresh, null);
+                    refresh.completeExceptionally(e);
+                }
+                return refresh;
+            }
+        }
+    }
+
+    // Any failure, Errors included, must complete the refresh, or callers waiting on it would block forever.
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void load(final CompletableFuture<Entry<T>> refresh) {
+        final long start = System.nanoTime();
+        final Entry<T> entry;
+        try {
+            entry = new Entry<>(loader.get(), clock.instant(), false);
+            current.set(entry);
+            lastRefreshNanos = System.nanoTime() - start;
+            successTimer.record(lastRefreshNanos, TimeUnit.NANOSECONDS);
+            lastRefreshFailed = false;
+            refresh.complete(entry);
+        } catch (final Throwable e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            lastRefreshFailed = true;
+            refresh.completeExceptionally(e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return;
+        } finally {
+            inFlight.compareAndSet(refresh, null);
+        }
+        refreshListeners.forEach(listener -> listener.accept(entry.value()));
+    }
+
+    private T serve(final Entry<T> entry) {
+        final boolean softExpired = isOlderThan(entry, softTtl);
+        if (entry.restored() || softExpired) {
+            refresh(refreshExecutor);
+        }
+        if (entry.restored() || softExpired && lastRefreshFailed) {
+            CacheOutcome.stale();
+        } else {
+            CacheOutcome.hit();
+        }
+        return entry.value();
+    }
+
+    // A restored snapshot is the best data there is until a refresh succeeds, so it never expires.
+    private boolean isHardExpired(final Entry<T> entry) {
+        return !entry.restored() && isOlderThan(entry, hardTtl);
+    }
+
+    private boolean isOlderThan(final Entry<T> entry, final Duration ttl) {
+        return !entry.fetchedAt().plus(ttl).isAfter(clock.instant());
+    }
+
+    private double ageSeconds() {
+        final Entry<T> entry = current.get();
+        if (entry == null) {
+            return Double.NaN;
+        }
+        return Duration.between(entry.fetchedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    private Timer refreshTimer(final MeterRegistry registry, final String outcome) {
+        return Timer.builder("audition.snapshot.refresh")
+            .description("Time taken to refresh a snapshot from the upstream API")
+            .tag(NAME_TAG, name)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static <E> E await(final CompletableFuture<E> refresh) {
+        try {
+            return refresh.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<T>(T value, Instant fetchedAt, boolean restored) {
+
+    }
+}
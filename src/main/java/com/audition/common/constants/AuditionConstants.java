@@ -2,5 +2,9 @@ package com.audition.common.constants;
 
 public class AuditionConstants {
 
+    /**
+     * Origin that upstream URLs are built against, and the default upstream endpoint. Requests are sent to one of the
+     * endpoints in {@code audition.api.base-url} instead, see {@code UpstreamLoadBalancer}.
+     */
     public static final String BASE_URL = "https://jsonplaceholder.typicode.com";
 }
@@ -0,0 +1,16 @@
+package com.audition.common.exception;
+
+/**
+ * The upstream API could not answer: the circuit is open, the bulkhead is full, the call timed out or every retry
+ * failed. Callers may fall back to previously fetched data.
+ */
+public class UpstreamUnavailableException extends SystemException {
+
+    private static final long serialVersionUID = 4211978533702744815L;
+
+    public static final String TITLE = "Service Unavailable";
+
+    public UpstreamUnavailableException(final String detail, final Throwable exception) {
+        super(detail, TITLE, 503, exception);
+    }
+}
@@ -0,0 +1,50 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes queue depth, remaining capacity and dropped events of every {@link MeteredAsyncAppender} attached to the
+ * root logger, tagged by appender name.
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        final Iterator<Appender<ILoggingEvent>> appenders = context.getLogger(Logger.ROOT_LOGGER_NAME)
+            .iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof MeteredAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    private static void bind(final MeterRegistry registry, final MeteredAsyncAppender appender) {
+        Gauge.builder("audition.logging.async.queue.size", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+            .description("Log events waiting to be written")
+            .tag("appender", appender.getName())
+            .register(registry);
+        Gauge.builder("audition.logging.async.queue.remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+            .description("Free slots in the log event queue")
+            .tag("appender", appender.getName())
+            .register(registry);
+        FunctionCounter.builder("audition.logging.async.dropped", appender, MeteredAsyncAppender::getDroppedCount)
+            .description("Log events dropped because the queue was (nearly) full")
+            .tag("appender", appender.getName())
+            .register(registry);
+    }
+}
@@ -5,6 +5,12 @@ import org.slf4j.Logger;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
+/**
+ * Level-guarded logging helpers.
+ *
+ * <p>Prefer the overloads taking {@code {}} placeholders and one to three arguments over building the message by
+ * concatenation: nothing is formatted, and no varargs array is allocated, unless the level is enabled.</p>
+ */
 @Component
 public class AuditionLogger {
 
@@ -20,18 +26,55 @@ public class AuditionLogger {
         }
     }
 
+    public void info(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(final Logger logger, final String format, final Object arg1, final Object arg2,
+        final Object arg3) {
+        if (logger.isInfoEnabled()) {
+            logger.info(format, arg1, arg2, arg3);
+        }
+    }
+
     public void debug(final Logger logger, final String message) {
         if (logger.isDebugEnabled()) {
             logger.debug(message);
         }
     }
 
+    public void debug(final Logger logger, final String format, final Object arg) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, arg);
+        }
+    }
+
+    public void debug(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+
     public void warn(final Logger logger, final String message) {
         if (logger.isWarnEnabled()) {
             logger.warn(message);
         }
     }
 
+    public void warn(final Logger logger, final String format, final Object arg) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, arg);
+        }
+    }
+
+    public void warn(final Logger logger, final String format, final Object arg1, final Object arg2) {
+        if (logger.isWarnEnabled()) {
+            logger.warn(format, arg1, arg2);
+        }
+    }
+
     public void error(final Logger logger, final String message) {
         if (logger.isErrorEnabled()) {
             logger.error(message);
@@ -0,0 +1,46 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logback's {@link AsyncAppender} that also counts the events it drops, so that back-pressure on the logging pipeline
+ * shows up in metrics (see {@link AsyncAppenderMetrics}).
+ *
+ * <p>Events are dropped when the queue is nearly full and they are below WARN (the discarding threshold), or, with
+ * {@code neverBlock}, when the queue is full. The second case is counted from the remaining capacity just before the
+ * event is offered, so it is approximate under contention. A full queue is also below the discarding threshold, so
+ * events below WARN are only counted as discarded there, not again as not fitting.</p>
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(final ILoggingEvent event) {
+        if (isNeverBlock() && getRemainingCapacity() == 0 && isStarted() && !isCountedAsDiscarded(event)) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(final ILoggingEvent event) {
+        // Only consulted once the queue is below the discarding threshold.
+        final boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.increment();
+        }
+        return discardable;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // With no room left the queue is always below a positive threshold, so isDiscardable decides, and counts, first.
+    private boolean isCountedAsDiscarded(final ILoggingEvent event) {
+        return getDiscardingThreshold() > 0 && super.isDiscardable(event);
+    }
+}
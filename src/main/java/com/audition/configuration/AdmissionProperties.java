@@ -0,0 +1,53 @@
+package com.audition.configuration;
+
+import com.audition.web.AdmissionPriority;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Adaptive concurrency limit on the {@code /posts} endpoints, bound from {@code audition.admission.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.admission")
+public class AdmissionProperties {
+
+    /**
+     * Reject requests beyond the current concurrency limit with a 503 instead of queueing them.
+     */
+    private boolean enabled;
+
+    /**
+     * Concurrency limit at startup.
+     */
+    private int initialLimit = 100;
+
+    /**
+     * The limit never backs off below this.
+     */
+    private int minLimit = 10;
+
+    /**
+     * The limit never grows beyond this.
+     */
+    private int maxLimit = 1000;
+
+    /**
+     * A request slower than this, or answered with a 503 or 504, is taken as a sign of overload.
+     */
+    private Duration maxLatency = Duration.ofSeconds(1);
+
+    /**
+     * Factor the limit is multiplied by on overload.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * Priority per request mapping pattern, e.g. {@code "[/posts/{id}]": high}. Unlisted patterns are normal.
+     */
+    private Map<String, AdmissionPriority> priorities = new LinkedHashMap<>();
+}
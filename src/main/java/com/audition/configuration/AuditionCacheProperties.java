@@ -0,0 +1,57 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sizing and expiry of the in-process caches in front of the upstream API, bound from {@code audition.cache.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.cache")
+public class AuditionCacheProperties {
+
+    /**
+     * Post lists, keyed by category filter.
+     */
+    private Spec posts = new Spec(100, Duration.ofMinutes(1));
+
+    /**
+     * Single posts, keyed by post id.
+     */
+    private Spec post = new Spec(10_000, Duration.ofMinutes(5));
+
+    /**
+     * Comment lists, keyed by post id.
+     */
+    private Spec comments = new Spec(10_000, Duration.ofMinutes(5));
+
+    /**
+     * Posts joined with their comments, keyed by post id.
+     */
+    private Spec postWithComments = new Spec(10_000, Duration.ofMinutes(5));
+
+    @Getter
+    @Setter
+    public static class Spec {
+
+        private long maximumSize;
+        private Duration timeToLive;
+
+        /**
+         * How long entries are kept as a fallback for when the upstream is unavailable.
+         */
+        private Duration staleTimeToLive = Duration.ofHours(1);
+
+        public Spec() {
+            // for property binding
+        }
+
+        public Spec(final long maximumSize, final Duration timeToLive) {
+            this.maximumSize = maximumSize;
+            this.timeToLive = timeToLive;
+        }
+    }
+}
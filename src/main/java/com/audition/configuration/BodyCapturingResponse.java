@@ -0,0 +1,161 @@
+package com.audition.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Copies a response body, up to a limit, while the caller reads it and hands the copy to a listener when the response
+ * is closed. The body is never read ahead of the caller or buffered as a whole.
+ *
+ * <p>Parsers usually stop at the end of the document without reading to the end of the stream, so on close whatever
+ * the caller left unread is read on up to the limit. The connection is drained on close anyway, so this costs no
+ * extra I/O.</p>
+ *
+ * <p>A listener that can only use the whole body, not its first {@code limit} bytes, should use
+ * {@link #wholeBody}: the copy is then dropped as soon as the body turns out to be larger than the limit.</p>
+ */
+class BodyCapturingResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse delegate;
+    private final int limit;
+    private final Listener listener;
+    private final boolean wholeBodyOnly;
+    private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private long total;
+    private boolean complete;
+    private InputStream body;
+
+    BodyCapturingResponse(final ClientHttpResponse delegate, final int limit, final Listener listener) {
+        this(delegate, limit, listener, false);
+    }
+
+    private BodyCapturingResponse(final ClientHttpResponse delegate, final int limit, final Listener listener,
+        final boolean wholeBodyOnly) {
+        this.delegate = delegate;
+        this.limit = limit;
+        this.listener = listener;
+        this.wholeBodyOnly = wholeBodyOnly;
+    }
+
+    /**
+     * Captures the body only if it fits within {@code limit}. The listener then sees either the whole body, or an
+     * empty copy with a {@code total} beyond the limit.
+     */
+    static BodyCapturingResponse wholeBody(final ClientHttpResponse delegate, final int limit,
+        final Listener listener) {
+        return new BodyCapturingResponse(delegate, limit, listener, true);
+    }
+
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return delegate.getStatusCode();
+    }
+
+    @Override
+    public String getStatusText() throws IOException {
+        return delegate.getStatusText();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return delegate.getHeaders();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            body = new FilterInputStream(delegate.getBody()) {
+                @Override
+                public int read() throws IOException {
+                    final int b = super.read();
+                    if (b >= 0) {
+                        capture(b);
+                    } else {
+                        complete = true;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+                    final int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        capture(buffer, offset, read);
+                    } else if (read < 0) {
+                        complete = true;
+                    }
+                    return read;
+                }
+            };
+        }
+        return body;
+    }
+
+    @Override
+    public void close() {
+        readToLimit();
+        try {
+            listener.onClose(captured == null ? new byte[0] : captured.toByteArray(), total, complete);
+        } finally {
+            delegate.close();
+        }
+    }
+
+    private void readToLimit() {
+        if (body == null || captured == null) {
+            return;
+        }
+        final byte[] buffer = new byte[4096];
+        try {
+            while (!complete && captured != null && captured.size() < limit) {
+                body.read(buffer, 0, Math.min(buffer.length, limit - captured.size()));
+            }
+        } catch (final IOException e) {
+            // the body stays incomplete
+        }
+    }
+
+    private void capture(final int b) {
+        total++;
+        if (overflowed()) {
+            return;
+        }
+        if (total <= limit) {
+            captured.write(b);
+        }
+    }
+
+    private void capture(final byte[] buffer, final int offset, final int length) {
+        total += length;
+        if (overflowed()) {
+            return;
+        }
+        final int room = limit - captured.size();
+        if (room > 0) {
+            captured.write(buffer, offset, Math.min(room, length));
+        }
+    }
+
+    private boolean overflowed() {
+        if (captured != null && wholeBodyOnly && total > limit) {
+            // The body can no longer be kept whole; stop holding on to the part of it seen so far.
+            captured = null;
+        }
+        return captured == null;
+    }
+
+    interface Listener {
+
+        /**
+         * @param captured the first {@code limit} bytes of the body that were read
+         * @param total    how many body bytes were read in all
+         * @param complete whether the body was read to the end
+         */
+        void onClose(byte[] captured, long total, boolean complete);
+    }
+}
@@ -0,0 +1,16 @@
+package com.audition.configuration;
+
+import com.audition.service.AuditionCaches;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({AuditionCacheProperties.class, ResponseCacheProperties.class})
+public class CacheConfiguration {
+
+    @Bean
+    public AuditionCaches auditionCaches(final AuditionCacheProperties auditionCacheProperties) {
+        return new AuditionCaches(auditionCacheProperties);
+    }
+}
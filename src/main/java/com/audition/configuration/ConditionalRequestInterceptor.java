@@ -0,0 +1,165 @@
+package com.audition.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Revalidates repeated upstream GETs instead of downloading them again.
+ *
+ * <p>The ETag / Last-Modified of each 200 response is kept per URI together with its body, captured while the caller
+ * reads it. The next GET of that URI is sent with If-None-Match / If-Modified-Since; if the upstream answers 304 the
+ * kept body is replayed to the caller as a 200, so callers never see the difference. Kept bodies are bounded in total
+ * size and evicted least-recently-used.</p>
+ *
+ * <p>Only bodies known to fit within {@code max-entry-size} are copied, and a copy is dropped as soon as the body
+ * outgrows it. Requests made {@link #skipping} revalidation, such as reads that decode a collection as it streams in, are
+ * passed through untouched so that their body is never held in memory.</p>
+ */
+public class ConditionalRequestInterceptor implements ClientHttpRequestInterceptor, MeterBinder {
+
+    private static final String OUTCOME_METRIC = "audition.upstream.conditional";
+    private static final ThreadLocal<Boolean> SKIPPING = new ThreadLocal<>();
+
+    private final Cache<URI, Validated> validated;
+    private final int maxEntrySize;
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder modified = new LongAdder();
+
+    public ConditionalRequestInterceptor(final UpstreamClientProperties.Conditional properties) {
+        this.maxEntrySize = (int) Math.min(Integer.MAX_VALUE, properties.getMaxEntrySize().toBytes());
+        this.validated = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxSize().toBytes())
+            .weigher((URI uri, Validated entry) -> entry.body().length)
+            .build();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        if (SKIPPING.get() != null || !HttpMethod.GET.equals(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+
+        final URI uri = request.getURI();
+        final Validated known = validated.getIfPresent(uri);
+        if (known != null) {
+            if (known.eTag() != null) {
+                request.getHeaders().setIfNoneMatch(known.eTag());
+            }
+            if (known.lastModified() != null) {
+                request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, known.lastModified());
+            }
+        }
+
+        final ClientHttpResponse response = execution.execute(request, body);
+        if (known != null) {
+            if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                response.close();
+                notModified.increment();
+                return new ReplayedResponse(known);
+            }
+            modified.increment();
+        }
+
+        final String eTag = response.getHeaders().getETag();
+        final String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK) || eTag == null && lastModified == null
+            || response.getHeaders().getContentLength() > maxEntrySize) {
+            if (known != null) {
+                validated.invalidate(uri);
+            }
+            return response;
+        }
+        final HttpHeaders headers = HttpHeaders.readOnlyHttpHeaders(response.getHeaders());
+        return BodyCapturingResponse.wholeBody(response, maxEntrySize, (captured, total, complete) -> {
+            // Only bodies read to the end can be replayed; a caller that stopped early saw only part of it.
+            if (complete && total == captured.length) {
+                validated.put(uri, new Validated(eTag, lastModified, headers, captured));
+            }
+        });
+    }
+
+    /**
+     * Runs {@code call}, sending the upstream requests it makes on this thread as they are, without revalidation and
+     * without keeping their bodies.
+     */
+    public static <T> T skipping(final Supplier<T> call) {
+        SKIPPING.set(Boolean.TRUE);
+        try {
+            return call.get();
+        } finally {
+            SKIPPING.remove();
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        registerOutcome(registry, "not_modified", notModified);
+        registerOutcome(registry, "modified", modified);
+    }
+
+    private static void registerOutcome(final MeterRegistry registry, final String outcome, final LongAdder count) {
+        FunctionCounter.builder(OUTCOME_METRIC, count, LongAdder::doubleValue)
+            .description("Upstream revalidations, by whether the upstream data had changed")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private record Validated(String eTag, String lastModified, HttpHeaders headers, byte[] body) {
+
+    }
+
+    /**
+     * A 200 rebuilt from a kept body, returned in place of the upstream's 304.
+     */
+    private static final class ReplayedResponse implements ClientHttpResponse {
+
+        private final Validated validated;
+
+        private ReplayedResponse(final Validated validated) {
+            this.validated = validated;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return validated.headers();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(validated.body());
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+
+/**
+ * Publishes utilisation of the upstream connection pool as gauges.
+ */
+public class HttpClientPoolMetrics implements MeterBinder {
+
+    private static final String POOL_TAG = "pool";
+    private static final String POOL_NAME = "audition-upstream";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public HttpClientPoolMetrics(final PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge(registry, "httpcomponents.httpclient.pool.total.leased", "Connections currently leased",
+            PoolStats::getLeased);
+        gauge(registry, "httpcomponents.httpclient.pool.total.available", "Idle connections available for reuse",
+            PoolStats::getAvailable);
+        gauge(registry, "httpcomponents.httpclient.pool.total.pending", "Callers waiting to lease a connection",
+            PoolStats::getPending);
+        gauge(registry, "httpcomponents.httpclient.pool.total.max", "Maximum number of pooled connections",
+            PoolStats::getMax);
+    }
+
+    private void gauge(final MeterRegistry registry, final String name, final String description,
+        final StatExtractor extractor) {
+        Gauge.builder(name, connectionManager, manager -> extractor.extract(manager.getTotalStats()))
+            .description(description)
+            .tag(POOL_TAG, POOL_NAME)
+            .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface StatExtractor {
+
+        int extract(PoolStats stats);
+    }
+}
@@ -1,39 +1,100 @@
 package com.audition.configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.util.StreamUtils;
-
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
+/**
+ * Logs a sample of outbound calls: method, URI, status, latency and headers, with sensitive headers masked.
+ *
+ * <p>Calls that are not sampled pass straight through. Bodies are only logged at DEBUG and when enabled; the
+ * response body is then copied, up to the configured limit, while the caller reads it, so the response is never
+ * buffered up front.</p>
+ */
 public class LoggingInterceptor implements ClientHttpRequestInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingInterceptor.class);
 
+    private static final String REDACTED = "******";
+
+    private final UpstreamClientProperties.Logging properties;
+
+    public LoggingInterceptor(final UpstreamClientProperties.Logging properties) {
+        this.properties = properties;
+    }
+
     @Override
-    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
-                                        ClientHttpRequestExecution execution) throws IOException {
-        logRequest(request, body);
-        ClientHttpResponse response = execution.execute(request, body);
-        logResponse(response);
-        return response;
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        if (!logger.isInfoEnabled() || !isSampled()) {
+            return execution.execute(request, body);
+        }
+
+        final boolean logBodies = properties.isLogBodies() && logger.isDebugEnabled();
+        logger.info("Upstream request: {} {} headers={}", request.getMethod(), request.getURI(),
+            redact(request.getHeaders()));
+        if (logBodies && body.length > 0) {
+            logger.debug("Upstream request body: {}", abbreviate(body, body.length));
+        }
+
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (final IOException e) {
+            logger.info("Upstream call failed: {} {} after {} ms: {}", request.getMethod(), request.getURI(),
+                elapsedMillis(start), e.toString());
+            throw e;
+        }
+        logger.info("Upstream response: {} {} -> {} in {} ms headers={}", request.getMethod(), request.getURI(),
+            response.getStatusCode().value(), elapsedMillis(start), redact(response.getHeaders()));
+
+        if (!logBodies) {
+            return response;
+        }
+        return new BodyCapturingResponse(response, bodyLimit(), (captured, total, complete) -> {
+            if (total > 0) {
+                logger.debug("Upstream response body: {}", abbreviate(captured, total));
+            }
+        });
+    }
+
+    private boolean isSampled() {
+        final double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1 || sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private int bodyLimit() {
+        return properties.isFullBody() ? Integer.MAX_VALUE : properties.getMaxBodySize();
+    }
+
+    private HttpHeaders redact(final HttpHeaders headers) {
+        final HttpHeaders redacted = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (properties.getRedactedHeaders().stream().anyMatch(name::equalsIgnoreCase)) {
+                redacted.add(name, REDACTED);
+            } else {
+                redacted.addAll(name, values);
+            }
+        });
+        return redacted;
     }
 
-    private void logRequest(HttpRequest request, byte[] body) throws IOException {
-        logger.info("Request URI: {}", request.getURI());
-        logger.info("Request Method: {}", request.getMethod());
-        logger.info("Request Headers: {}", request.getHeaders());
-        logger.info("Request Body: {}", new String(body, StandardCharsets.UTF_8));
+    private String abbreviate(final byte[] bytes, final long length) {
+        final int logged = (int) Math.min(length, bodyLimit());
+        final String text = new String(bytes, 0, logged, StandardCharsets.UTF_8);
+        return logged < length ? text + "... (" + length + " bytes)" : text;
     }
 
-    private void logResponse(ClientHttpResponse response) throws IOException {
-        logger.info("Response Status Code: {}", response.getStatusCode());
-        logger.info("Response Headers: {}", response.getHeaders());
-        String responseBody = StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
-        logger.info("Response Body: {}", responseBody);
+    private static long elapsedMillis(final long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
     }
 }
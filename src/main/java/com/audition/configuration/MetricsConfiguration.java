@@ -0,0 +1,28 @@
+package com.audition.configuration;
+
+import com.audition.common.cache.CacheOutcome;
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+@Configuration
+public class MetricsConfiguration {
+
+    /**
+     * Adds a {@code cache} tag (hit, miss or none) to {@code http.server.requests}, so that latency can be read
+     * separately for requests served from memory and requests that had to go upstream.
+     */
+    @Bean
+    public ServerRequestObservationConvention cacheAwareServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(final ServerRequestObservationContext context) {
+                return super.getLowCardinalityKeyValues(context)
+                    .and("cache", CacheOutcome.of(context.getCarrier()));
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.audition.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Non-blocking upstream client used when {@code audition.api.client.mode=reactive}.
+ *
+ * <p>Pool sizing and timeouts come from the same {@code audition.api.client.*} properties as the blocking client.
+ * Unlike the classic Apache client, Reactor Netty negotiates HTTP/2 where the upstream offers it.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "audition.api.client", name = "mode", havingValue = "reactive")
+public class ReactiveClientConfiguration {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(final UpstreamClientProperties upstreamClientProperties) {
+        return ConnectionProvider.builder("audition-upstream")
+            .maxConnections(upstreamClientProperties.getMaxConnectionsPerRoute())
+            .pendingAcquireTimeout(upstreamClientProperties.getConnectionRequestTimeout())
+            .maxIdleTime(upstreamClientProperties.getIdleTimeout())
+            .maxLifeTime(upstreamClientProperties.getConnectionTimeToLive())
+            .evictInBackground(upstreamClientProperties.getIdleTimeout())
+            .metrics(true)
+            .build();
+    }
+
+    @Bean
+    public WebClient auditionWebClient(final WebClient.Builder webClientBuilder,
+        final ConnectionProvider upstreamConnectionProvider, final UpstreamClientProperties upstreamClientProperties,
+        final ObjectMapper objectMapper, final UpstreamLoadBalancer upstreamLoadBalancer) {
+        final HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+            .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                (int) upstreamClientProperties.getConnectTimeout().toMillis())
+            .responseTimeout(upstreamClientProperties.getReadTimeout());
+
+        return webClientBuilder
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .filter(upstreamLoadBalancer.exchangeFilter())
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+            })
+            .build();
+    }
+}
@@ -0,0 +1,16 @@
+package com.audition.configuration;
+
+import com.audition.integration.UpstreamResilience;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfiguration {
+
+    @Bean
+    public UpstreamResilience upstreamResilience(final ResilienceProperties resilienceProperties) {
+        return new UpstreamResilience(resilienceProperties);
+    }
+}
@@ -0,0 +1,116 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Circuit breaker, bulkhead, time limiter and retry settings for upstream calls, bound from
+ * {@code audition.resilience.*}. Every upstream operation gets its own instance of each, built from these settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.resilience")
+public class ResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Bulkhead bulkhead = new Bulkhead();
+    private TimeLimiter timeLimiter = new TimeLimiter();
+    private Retry retry = new Retry();
+    private RetryBudget retryBudget = new RetryBudget();
+
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        /**
+         * Failure percentage at which the breaker opens.
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Calls slower than this count as slow.
+         */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Slow-call percentage at which the breaker opens.
+         */
+        private float slowCallRateThreshold = 80;
+
+        private int slidingWindowSize = 50;
+
+        private int minimumNumberOfCalls = 20;
+
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Bulkhead {
+
+        /**
+         * Concurrent calls allowed per operation unless overridden in {@link #operations}.
+         */
+        private int maxConcurrentCalls = 25;
+
+        /**
+         * How long a call may wait for a free slot before being rejected.
+         */
+        private Duration maxWaitDuration = Duration.ZERO;
+
+        /**
+         * Per-operation overrides of {@link #maxConcurrentCalls}, keyed by operation name.
+         */
+        private Map<String, Integer> operations = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class TimeLimiter {
+
+        /**
+         * Deadline for a single upstream attempt.
+         */
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Attempts per call, including the first one.
+         */
+        private int maxAttempts = 3;
+
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        private double backoffMultiplier = 2;
+
+        /**
+         * Random spread applied to each backoff, as a fraction of it.
+         */
+        private double jitter = 0.5;
+    }
+
+    @Getter
+    @Setter
+    public static class RetryBudget {
+
+        /**
+         * Retries earned per first attempt, shared by every operation.
+         */
+        private double ratio = 0.1;
+
+        /**
+         * Upper bound on retries that can be banked, and the allowance available at startup.
+         */
+        private int maxRetries = 20;
+    }
+}
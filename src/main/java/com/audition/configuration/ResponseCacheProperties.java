@@ -0,0 +1,30 @@
+package com.audition.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of serialized responses, bound from {@code audition.response-cache.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Keep the serialized (and compressed) bytes of responses that carry an ETag and serve repeats from them.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Total size of the kept responses.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Responses smaller than this are never compressed.
+     */
+    private DataSize minCompressSize = DataSize.ofKilobytes(1);
+}
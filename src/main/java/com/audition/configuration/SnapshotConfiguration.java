@@ -0,0 +1,51 @@
+package com.audition.configuration;
+
+import com.audition.common.cache.RefreshingSnapshot;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.service.CommentIndex;
+import com.audition.service.PostIndex;
+import com.audition.service.SnapshotStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(SnapshotProperties.class)
+public class SnapshotConfiguration {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService snapshotRefreshExecutor() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("snapshot-refresh-");
+        threadFactory.setDaemon(true);
+        return Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Bean
+    public RefreshingSnapshot<PostIndex> postsSnapshot(final AuditionIntegrationClient auditionIntegrationClient,
+        final SnapshotProperties snapshotProperties, final ExecutorService snapshotRefreshExecutor,
+        final MeterRegistry meterRegistry) {
+        return new RefreshingSnapshot<>("posts", () -> PostIndex.of(auditionIntegrationClient.getAllPosts()),
+            snapshotProperties.getSoftTtl(), snapshotProperties.getHardTtl(), snapshotRefreshExecutor, meterRegistry);
+    }
+
+    @Bean
+    public RefreshingSnapshot<CommentIndex> commentsSnapshot(final AuditionIntegrationClient auditionIntegrationClient,
+        final SnapshotProperties snapshotProperties, final ExecutorService snapshotRefreshExecutor,
+        final MeterRegistry meterRegistry) {
+        return new RefreshingSnapshot<>("comments", () -> CommentIndex.of(auditionIntegrationClient.getAllComments()),
+            snapshotProperties.getSoftTtl(), snapshotProperties.getHardTtl(), snapshotRefreshExecutor, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "audition.snapshot.store", name = "enabled", matchIfMissing = true)
+    public SnapshotStore snapshotStore(final SnapshotProperties snapshotProperties) {
+        return new SnapshotStore(snapshotProperties.getStore().getPath());
+    }
+}
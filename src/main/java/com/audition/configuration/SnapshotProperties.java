@@ -0,0 +1,62 @@
+package com.audition.configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Stale-while-revalidate settings for whole-collection snapshots, bound from {@code audition.snapshot.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Serve {@code GET /posts} from an in-memory snapshot of the full upstream collection.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Age after which a read triggers a background refresh while the current snapshot keeps being served.
+     */
+    private Duration softTtl = Duration.ofMinutes(1);
+
+    /**
+     * Age after which the snapshot is no longer served and readers block on a refresh.
+     */
+    private Duration hardTtl = Duration.ofMinutes(30);
+
+    /**
+     * Interval between scheduled background refreshes.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    /**
+     * Also hold the complete upstream comment collection as a snapshot, indexed by post, so comment lookups and
+     * with-comments joins never call the upstream on the request path.
+     */
+    private boolean preloadComments = false;
+
+    /**
+     * Local copy of the snapshot used for warm starts and upstream outages.
+     */
+    private Store store = new Store();
+
+    @Getter
+    @Setter
+    public static class Store {
+
+        /**
+         * Save the snapshot after every successful refresh and restore it on startup.
+         */
+        private boolean enabled = true;
+
+        /**
+         * File the snapshot is saved to.
+         */
+        private Path path = Path.of(System.getProperty("java.io.tmpdir"), "audition", "snapshot.bin");
+    }
+}
@@ -0,0 +1,183 @@
+package com.audition.configuration;
+
+import java.time.Duration;
+import java.util.Set;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Tuning for the pooled HTTP client used to call the upstream API, bound from {@code audition.api.client.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.api.client")
+public class UpstreamClientProperties {
+
+    /**
+     * Whether the API is served by the blocking RestTemplate client or the non-blocking WebClient one.
+     */
+    private Mode mode = Mode.BLOCKING;
+
+    /**
+     * Maximum number of pooled connections across all routes.
+     */
+    private int maxConnectionsTotal = 200;
+
+    /**
+     * Maximum number of pooled connections per upstream host.
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Time allowed to establish a TCP/TLS connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Time allowed between response bytes (socket read timeout).
+     */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Time a caller may wait to lease a connection from an exhausted pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Idle connections older than this are closed by the background evictor.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Hard upper bound on the lifetime of a pooled connection, regardless of activity.
+     */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Connections idle for longer than this are validated before being reused.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Threads available for issuing independent upstream calls concurrently.
+     */
+    private int fanOutThreads = 32;
+
+    /**
+     * Upstream calls that may wait for a fan-out thread before further ones are rejected with a 503.
+     */
+    private int fanOutQueueCapacity = 1000;
+
+    /**
+     * Deadline for a whole fan-out, covering every call it issued.
+     */
+    private Duration fanOutTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum number of distinct post IDs accepted by a single batch request.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Upstream calls a single batch request may have in flight at once.
+     */
+    private int batchParallelism = 8;
+
+    /**
+     * Logging of outbound requests and responses.
+     */
+    private Logging logging = new Logging();
+
+    /**
+     * Revalidation of repeated upstream GETs with If-None-Match / If-Modified-Since.
+     */
+    private Conditional conditional = new Conditional();
+
+    /**
+     * Micro-batching of concurrent single-post lookups into one bulk upstream query.
+     */
+    private Batching batching = new Batching();
+
+    public enum Mode {
+        BLOCKING,
+        REACTIVE
+    }
+
+    @Getter
+    @Setter
+    public static class Logging {
+
+        /**
+         * Whether outbound calls are logged at all.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of outbound calls that are logged, from 0 to 1.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Whether bodies of sampled calls are logged. Bodies are only ever logged at DEBUG.
+         */
+        private boolean logBodies;
+
+        /**
+         * Maximum number of body bytes logged per request or response.
+         */
+        private int maxBodySize = 1024;
+
+        /**
+         * Log whole bodies regardless of {@link #maxBodySize}. Intended for local debugging only.
+         */
+        private boolean fullBody;
+
+        /**
+         * Headers whose values are masked in the log, matched case-insensitively.
+         */
+        private Set<String> redactedHeaders = Set.of("Authorization", "Proxy-Authorization", "Cookie",
+            "Set-Cookie");
+    }
+
+    @Getter
+    @Setter
+    public static class Conditional {
+
+        /**
+         * Whether upstream validators and bodies are kept so that repeated GETs can be answered with a 304.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Total size of the upstream bodies kept for revalidation.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Bodies larger than this are not kept.
+         */
+        private DataSize maxEntrySize = DataSize.ofMegabytes(4);
+    }
+
+    @Getter
+    @Setter
+    public static class Batching {
+
+        /**
+         * Whether concurrent lookups of posts by ID are collected and resolved with one {@code /posts?id=...} query.
+         */
+        private boolean enabled;
+
+        /**
+         * How long the first lookup of a batch waits for others to join it.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * Distinct post IDs after which a batch is sent without waiting for the window to pass.
+         */
+        private int maxSize = 50;
+    }
+}
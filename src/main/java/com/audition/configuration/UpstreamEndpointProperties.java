@@ -0,0 +1,74 @@
+package com.audition.configuration;
+
+import com.audition.common.constants.AuditionConstants;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Where the upstream API is served from and how calls are spread over its endpoints, bound from
+ * {@code audition.api.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "audition.api")
+public class UpstreamEndpointProperties {
+
+    /**
+     * Base URLs of interchangeable upstream endpoints, e.g. the public API and its mirrors or a local replica.
+     */
+    private List<URI> baseUrl = List.of(URI.create(AuditionConstants.BASE_URL));
+
+    /**
+     * Endpoint selection and health tracking.
+     */
+    private LoadBalancing loadBalancing = new LoadBalancing();
+
+    @Getter
+    @Setter
+    public static class LoadBalancing {
+
+        /**
+         * Consecutive failures (connection errors or 5xx) after which an endpoint is taken out of rotation.
+         */
+        private int unhealthyAfter = 3;
+
+        /**
+         * How long an unhealthy endpoint stays out of rotation before it is tried again.
+         */
+        private Duration unhealthyFor = Duration.ofSeconds(10);
+
+        /**
+         * Hedged GETs: a second attempt to another endpoint when the first is slower than usual.
+         */
+        private Hedging hedging = new Hedging();
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+
+        /**
+         * Whether slow GETs are hedged. Needs at least two endpoints.
+         */
+        private boolean enabled;
+
+        /**
+         * Percentile of recent upstream latencies after which the second attempt is sent.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Lower bound on the hedging delay, so that a fast upstream is not hit twice for every request.
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /**
+         * Latencies observed before hedging starts; until then there is no meaningful percentile.
+         */
+        private int minSamples = 100;
+    }
+}
@@ -0,0 +1,506 @@
+package com.audition.configuration;
+
+import com.audition.integration.UpstreamDeadline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spreads upstream calls over the endpoints in {@code audition.api.base-url}, least outstanding requests first.
+ *
+ * <p>Callers build upstream URLs against {@code AuditionConstants.BASE_URL}; each request is rewritten to the endpoint
+ * chosen for it, keeping its path and query. An endpoint that fails {@code unhealthy-after} times in a row, with a
+ * connection error or a 5xx, is left out of rotation for {@code unhealthy-for}. If every endpoint is out, the least
+ * loaded one is used anyway.</p>
+ *
+ * <p>With hedging enabled, a GET that has not been answered within the configured percentile of recent latencies of
+ * the same kind of request is sent again to another endpoint. Requests are of the same kind when their paths match
+ * with numeric segments ignored and they carry the same query parameters, so a whole collection is only compared with
+ * other fetches of that collection. The first response to arrive is used and the other is closed. Each attempt goes
+ * straight to the request factory, so this must be the innermost interceptor.</p>
+ *
+ * <p>A request counts as outstanding against its endpoint until its response body is closed or fully read, for the
+ * blocking and the reactive client alike.</p>
+ */
+public class UpstreamLoadBalancer implements ClientHttpRequestInterceptor, MeterBinder, DisposableBean {
+
+    private static final String ENDPOINT_TAG = "endpoint";
+    private static final int LATENCY_WINDOW = 1024;
+    private static final int MAX_REQUEST_KINDS = 64;
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final List<Endpoint> endpoints;
+    private final UpstreamEndpointProperties.LoadBalancing properties;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService attemptExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final LongAdder hedgesSent = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+
+    public UpstreamLoadBalancer(final UpstreamEndpointProperties properties) {
+        if (properties.getBaseUrl().isEmpty()) {
+            throw new IllegalArgumentException("audition.api.base-url must list at least one endpoint");
+        }
+        this.endpoints = properties.getBaseUrl().stream().map(Endpoint::new).toList();
+        this.properties = properties.getLoadBalancing();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        final Endpoint primary = choose(null);
+        final Duration hedgeDelay = hedgeDelay(request);
+        if (hedgeDelay == null) {
+            return attempt(primary, request, body, execution);
+        }
+        return hedged(primary, hedgeDelay, request, body, execution);
+    }
+
+    /**
+     * Applies the same endpoint selection and health tracking to the reactive client. Reactive calls are not hedged.
+     */
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> Mono.defer(() -> {
+            final Endpoint endpoint = choose(null);
+            final ClientRequest routed = ClientRequest.from(request).url(endpoint.resolve(request.url())).build();
+            endpoint.outstanding.incrementAndGet();
+            final AtomicBoolean released = new AtomicBoolean();
+            final Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    endpoint.outstanding.decrementAndGet();
+                }
+            };
+            final long start = System.nanoTime();
+            return next.exchange(routed)
+                .doOnSuccess(response -> {
+                    if (response == null) {
+                        release.run();
+                    } else {
+                        endpoint.completed(System.nanoTime() - start, response.statusCode().is5xxServerError());
+                    }
+                })
+                .doOnError(e -> {
+                    release.run();
+                    endpoint.completed(System.nanoTime() - start, true);
+                })
+                .doOnCancel(release)
+                // Like the blocking client, keep counting the request until its body has been read or released.
+                .map(response -> response.mutate().body(data -> data.doFinally(signal -> release.run())).build());
+        });
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        endpoints.forEach(endpoint -> endpoint.bindTo(registry));
+        registerHedges(registry, "sent", hedgesSent);
+        registerHedges(registry, "won", hedgesWon);
+    }
+
+    @Override
+    public void destroy() {
+        attemptExecutor.shutdownNow();
+    }
+
+    /**
+     * Picks the healthy endpoint with the fewest outstanding requests, other than {@code excluded}. Ties are broken
+     * at random so that idle endpoints share the load.
+     *
+     * @return the chosen endpoint, or {@code null} if {@code excluded} is the only one
+     */
+    private Endpoint choose(final Endpoint excluded) {
+        final int count = endpoints.size();
+        final int offset = count == 1 ? 0 : ThreadLocalRandom.current().nextInt(count);
+        final long now = System.nanoTime();
+        Endpoint best = null;
+        boolean bestHealthy = false;
+        for (int i = 0; i < count; i++) {
+            final Endpoint candidate = endpoints.get((offset + i) % count);
+            if (candidate == excluded) {
+                continue;
+            }
+            final boolean healthy = candidate.isHealthy(now);
+            if (best == null || healthy && !bestHealthy
+                || healthy == bestHealthy && candidate.outstanding.get() < best.outstanding.get()) {
+                best = candidate;
+                bestHealthy = healthy;
+            }
+        }
+        return best;
+    }
+
+    private Duration hedgeDelay(final HttpRequest request) {
+        final UpstreamEndpointProperties.Hedging hedging = properties.getHedging();
+        if (!hedging.isEnabled() || endpoints.size() < 2 || !HttpMethod.GET.equals(request.getMethod())) {
+            return null;
+        }
+        final LatencyWindow window = latencies.get(kind(request.getURI()));
+        if (window == null || window.count() < hedging.getMinSamples()) {
+            return null;
+        }
+        final Duration percentile = Duration.ofNanos(window.percentile());
+        return percentile.compareTo(hedging.getMinDelay()) > 0 ? percentile : hedging.getMinDelay();
+    }
+
+    private ClientHttpResponse hedged(final Endpoint primary, final Duration delay, final HttpRequest request,
+        final byte[] body, final ClientHttpRequestExecution execution) throws IOException {
+        final CompletableFuture<ClientHttpResponse> first = attemptAsync(primary, request, body, execution);
+        try {
+            return first.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            // Slower than usual: race a second attempt against it below.
+        } catch (final ExecutionException e) {
+            throw unwrap(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.thenAccept(ClientHttpResponse::close);
+            throw new InterruptedIOException("Interrupted waiting for " + request.getURI());
+        }
+
+        final Endpoint other = choose(primary);
+        if (other == null) {
+            return await(first);
+        }
+        hedgesSent.increment();
+        final CompletableFuture<ClientHttpResponse> second = attemptAsync(other, request, body, execution);
+        final CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        race(first, winner, failures, null);
+        race(second, winner, failures, hedgesWon);
+        return await(winner);
+    }
+
+    private static void race(final CompletableFuture<ClientHttpResponse> attempt,
+        final CompletableFuture<ClientHttpResponse> winner, final AtomicInteger failures, final LongAdder wins) {
+        attempt.whenComplete((response, e) -> {
+            if (e == null) {
+                if (!winner.complete(response)) {
+                    response.close();
+                } else if (wins != null) {
+                    wins.increment();
+                }
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(e);
+            }
+        });
+    }
+
+    private CompletableFuture<ClientHttpResponse> attemptAsync(final Endpoint endpoint, final HttpRequest request,
+        final byte[] body, final ClientHttpRequestExecution execution) {
+        // The attempt's response timeout comes from the caller's deadline.
+        return CompletableFuture.supplyAsync(UpstreamDeadline.propagate(() -> {
+            try {
+                return attempt(endpoint, request, body, execution);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), attemptExecutor);
+    }
+
+    private ClientHttpResponse attempt(final Endpoint endpoint, final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        endpoint.outstanding.incrementAndGet();
+        final long start = System.nanoTime();
+        final ClientHttpResponse response;
+        try {
+            response = execution.execute(endpoint.route(request), body);
+        } catch (final IOException | RuntimeException e) {
+            endpoint.outstanding.decrementAndGet();
+            endpoint.completed(System.nanoTime() - start, true);
+            throw e;
+        }
+        final long elapsed = System.nanoTime() - start;
+        final boolean failed = response.getStatusCode().is5xxServerError();
+        endpoint.completed(elapsed, failed);
+        if (!failed) {
+            final LatencyWindow window = latencyWindow(request.getURI());
+            if (window != null) {
+                window.record(elapsed);
+            }
+        }
+        return new TrackedResponse(response, endpoint.outstanding);
+    }
+
+    // Kinds beyond the cap, which only unexpected URL shapes would reach, are simply not hedged.
+    private LatencyWindow latencyWindow(final URI uri) {
+        final String kind = kind(uri);
+        final LatencyWindow window = latencies.get(kind);
+        if (window != null || latencies.size() >= MAX_REQUEST_KINDS) {
+            return window;
+        }
+        return latencies.computeIfAbsent(kind,
+            k -> new LatencyWindow(LATENCY_WINDOW, properties.getHedging().getPercentile()));
+    }
+
+    /**
+     * The kind of request {@code uri} makes, e.g. {@code /posts/{id}/comments} or {@code /posts?id}.
+     */
+    static String kind(final URI uri) {
+        final String path = NUMERIC_SEGMENT.matcher(uri.getRawPath()).replaceAll("/{id}");
+        final String query = uri.getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return path;
+        }
+        final Set<String> names = new TreeSet<>();
+        for (final String parameter : query.split("&")) {
+            final int equals = parameter.indexOf('=');
+            names.add(equals < 0 ? parameter : parameter.substring(0, equals));
+        }
+        return path + "?" + String.join("&", names);
+    }
+
+    private static ClientHttpResponse await(final CompletableFuture<ClientHttpResponse> response)
+        throws IOException {
+        try {
+            return response.get();
+        } catch (final ExecutionException e) {
+            throw unwrap(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.thenAccept(ClientHttpResponse::close);
+            throw new InterruptedIOException("Interrupted waiting for an upstream response");
+        }
+    }
+
+    private static IOException unwrap(final ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException unchecked) {
+            return unchecked.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private static Timer requestTimer(final MeterRegistry registry, final String endpoint, final String outcome) {
+        return Timer.builder("audition.upstream.endpoint.requests")
+            .description("Time to the response headers of each attempt, per upstream endpoint")
+            .tag(ENDPOINT_TAG, endpoint)
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static void registerHedges(final MeterRegistry registry, final String result, final LongAdder count) {
+        FunctionCounter.builder("audition.upstream.hedges", count, LongAdder::doubleValue)
+            .description("Hedged upstream GETs sent, and how many of them answered first")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    private final class Endpoint {
+
+        private final URI baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long unhealthyUntil;
+        private volatile boolean ejected;
+        private volatile Timer successes;
+        private volatile Timer failures;
+
+        private Endpoint(final URI baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        HttpRequest route(final HttpRequest request) {
+            final URI uri = resolve(request.getURI());
+            return new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+            };
+        }
+
+        URI resolve(final URI uri) {
+            return UriComponentsBuilder.fromUri(baseUrl)
+                .path(uri.getRawPath())
+                .query(uri.getRawQuery())
+                .build(true)
+                .toUri();
+        }
+
+        boolean isHealthy(final long now) {
+            return !ejected || now - unhealthyUntil >= 0;
+        }
+
+        void completed(final long nanos, final boolean failed) {
+            if (failed) {
+                if (consecutiveFailures.incrementAndGet() >= properties.getUnhealthyAfter()) {
+                    unhealthyUntil = System.nanoTime() + properties.getUnhealthyFor().toNanos();
+                    ejected = true;
+                }
+            } else {
+                consecutiveFailures.set(0);
+                ejected = false;
+            }
+            final Timer timer = failed ? failures : successes;
+            if (timer != null) {
+                timer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void bindTo(final MeterRegistry registry) {
+            final String name = baseUrl.toString();
+            successes = requestTimer(registry, name, "success");
+            failures = requestTimer(registry, name, "failure");
+            Gauge.builder("audition.upstream.endpoint.outstanding", outstanding, AtomicInteger::get)
+                .description("Requests in flight to an upstream endpoint")
+                .tag(ENDPOINT_TAG, name)
+                .register(registry);
+            Gauge.builder("audition.upstream.endpoint.healthy", this, e -> e.isHealthy(System.nanoTime()) ? 1 : 0)
+                .description("Whether an upstream endpoint is in rotation")
+                .tag(ENDPOINT_TAG, name)
+                .register(registry);
+        }
+    }
+
+    /**
+     * The most recent successful latencies of one kind of request, with a percentile recomputed at most every 100 ms.
+     */
+    private static final class LatencyWindow {
+
+        private static final long RECOMPUTE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+        private final AtomicLongArray samples;
+        private final AtomicLong count = new AtomicLong();
+        private final double percentile;
+        private volatile long cached;
+        private volatile long computedAt = System.nanoTime() - RECOMPUTE_NANOS;
+
+        private LatencyWindow(final int size, final double percentile) {
+            this.samples = new AtomicLongArray(size);
+            this.percentile = percentile;
+        }
+
+        void record(final long nanos) {
+            samples.set((int) (count.getAndIncrement() % samples.length()), nanos);
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long percentile() {
+            final long now = System.nanoTime();
+            if (now - computedAt >= RECOMPUTE_NANOS) {
+                final int filled = (int) Math.min(count.get(), samples.length());
+                final long[] sorted = new long[filled];
+                for (int i = 0; i < filled; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                cached = filled == 0 ? 0 : sorted[Math.max(0, (int) Math.ceil(percentile * filled) - 1)];
+                computedAt = now;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Counts the request as outstanding until its response is closed or its body has been read to the end.
+     */
+    private static final class TrackedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final AtomicInteger outstanding;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private InputStream body;
+
+        private TrackedResponse(final ClientHttpResponse delegate, final AtomicInteger outstanding) {
+            this.delegate = delegate;
+            this.outstanding = outstanding;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        return releasedAtEnd(super.read());
+                    }
+
+                    @Override
+                    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+                        return releasedAtEnd(super.read(bytes, offset, length));
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            release();
+            delegate.close();
+        }
+
+        private int releasedAtEnd(final int read) {
+            if (read == -1) {
+                release();
+            }
+            return read;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.audition.configuration;
+
+import com.audition.integration.UpstreamMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Records the size of each upstream response body as {@code audition.upstream.response.size}, tagged by the
+ * operation that made the call.
+ *
+ * <p>The Content-Length is used when the upstream sends one; otherwise the body is counted as the caller reads it,
+ * without copying it.</p>
+ */
+public class UpstreamPayloadMetrics implements ClientHttpRequestInterceptor, MeterBinder {
+
+    public static final String SIZE_METRIC = "audition.upstream.response.size";
+
+    private final ConcurrentMap<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    @Override
+    public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
+        final ClientHttpRequestExecution execution) throws IOException {
+        final ClientHttpResponse response = execution.execute(request, body);
+        final MeterRegistry target = registry;
+        if (target == null) {
+            return response;
+        }
+        final DistributionSummary summary = summaries.computeIfAbsent(UpstreamMetrics.currentOperation(),
+            operation -> DistributionSummary.builder(SIZE_METRIC)
+                .description("Upstream response body sizes")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .register(target));
+        final long contentLength = response.getHeaders().getContentLength();
+        if (contentLength >= 0) {
+            summary.record(contentLength);
+            return response;
+        }
+        return new BodyCapturingResponse(response, 0, (captured, total, complete) -> summary.record(total));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+}
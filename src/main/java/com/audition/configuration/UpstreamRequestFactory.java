@@ -0,0 +1,32 @@
+package com.audition.configuration;
+
+import com.audition.integration.UpstreamDeadline;
+import java.net.URI;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Creates upstream requests that are aborted when the {@link UpstreamDeadline} they were made within passes.
+ *
+ * <p>The response timeout only bounds each read, so an upstream that keeps sending a few bytes at a time would
+ * otherwise hold the call, its connection and its bulkhead permit well past the deadline. Aborting closes the
+ * connection, which fails whatever read is blocked on it.</p>
+ */
+public class UpstreamRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    public UpstreamRequestFactory(final HttpClient httpClient) {
+        super(httpClient);
+    }
+
+    @Override
+    protected ClassicHttpRequest createHttpUriRequest(final HttpMethod httpMethod, final URI uri) {
+        final ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+        if (request instanceof Cancellable cancellable) {
+            UpstreamDeadline.abortOnExpiry(cancellable::cancel);
+        }
+        return request;
+    }
+}
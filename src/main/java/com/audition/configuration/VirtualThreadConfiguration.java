@@ -0,0 +1,43 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs request handling and upstream fan-out on virtual threads when {@code audition.threads.virtual.enabled} is set.
+ *
+ * <p>Requests then block cheaply on upstream I/O, so concurrency is bounded by the upstream connection pool
+ * ({@code audition.api.client.max-connections-*}) rather than by Tomcat's worker pool. Streaming responses are
+ * written on virtual threads too, instead of on the bounded {@code spring.task.execution} pool.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "audition.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfiguration implements WebMvcConfigurer {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService upstreamExecutor(final MeterRegistry meterRegistry) {
+        return ExecutorServiceMetrics.monitor(meterRegistry,
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("upstream-vt-", 0).factory()), "upstream");
+    }
+
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("stream-vt-", 0).factory())));
+    }
+}
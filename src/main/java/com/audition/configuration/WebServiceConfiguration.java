@@ -1,36 +1,65 @@
 package com.audition.configuration;
 
+import com.audition.integration.UpstreamDeadline;
+import com.audition.web.AdmissionControlInterceptor;
+import com.audition.web.advice.FieldProjection;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import lombok.AllArgsConstructor;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 
 @Configuration
 @AllArgsConstructor
+@EnableConfigurationProperties({UpstreamClientProperties.class, UpstreamEndpointProperties.class,
+    AdmissionProperties.class})
 public class WebServiceConfiguration implements WebMvcConfigurer {
 
     private static final String YEAR_MONTH_DAY_PATTERN = "yyyy-MM-dd";
+    private static final Duration MIN_TIMEOUT = Duration.ofMillis(1);
 
     private ResponseHeaderInjector responseHeaderInjector;
 
+    private UpstreamClientProperties upstreamClientProperties;
+
+    private ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor;
+
     @Bean
     public ObjectMapper objectMapper() {
 
@@ -54,13 +83,82 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
         // Register the JavaTimeModule to handle Java 8 date/time types
         objectMapper.registerModule(new JavaTimeModule());
 
+        // Lets responses be limited to the fields a client selects (see FieldProjectionAdvice)
+        FieldProjection.register(objectMapper);
+
         return objectMapper;
     }
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(upstreamClientProperties.getMaxConnectionsTotal())
+            .setMaxConnPerRoute(upstreamClientProperties.getMaxConnectionsPerRoute())
+            .setConnectionTimeToLive(toTimeValue(upstreamClientProperties.getConnectionTimeToLive()))
+            .setValidateAfterInactivity(toTimeValue(upstreamClientProperties.getValidateAfterInactivity()))
+            .setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(toTimeout(upstreamClientProperties.getReadTimeout()))
+                .setSoKeepAlive(true)
+                .build())
+            .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(final PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return HttpClients.custom()
+            .setConnectionManager(upstreamConnectionManager)
+            .setDefaultRequestConfig(upstreamRequestConfig(null))
+            .evictExpiredConnections()
+            .evictIdleConnections(toTimeValue(upstreamClientProperties.getIdleTimeout()))
+            .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        final RestTemplate restTemplate = new RestTemplate(
-            new BufferingClientHttpRequestFactory(createClientFactory()));
+    public HttpClientPoolMetrics upstreamHttpClientPoolMetrics(
+        final PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new HttpClientPoolMetrics(upstreamConnectionManager);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    @ConditionalOnProperty(prefix = "audition.threads.virtual", name = "enabled", havingValue = "false",
+        matchIfMissing = true)
+    public ExecutorService upstreamExecutor(final MeterRegistry meterRegistry) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("upstream-");
+        threadFactory.setDaemon(true);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            upstreamClientProperties.getFanOutThreads(), upstreamClientProperties.getFanOutThreads(),
+            60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(upstreamClientProperties.getFanOutQueueCapacity()),
+            threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "upstream");
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "audition.api.client.conditional", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+    public ConditionalRequestInterceptor upstreamConditionalRequests() {
+        return new ConditionalRequestInterceptor(upstreamClientProperties.getConditional());
+    }
+
+    @Bean
+    public UpstreamPayloadMetrics upstreamPayloadMetrics() {
+        return new UpstreamPayloadMetrics();
+    }
+
+    @Bean
+    public UpstreamLoadBalancer upstreamLoadBalancer(final UpstreamEndpointProperties upstreamEndpointProperties) {
+        return new UpstreamLoadBalancer(upstreamEndpointProperties);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(final CloseableHttpClient upstreamHttpClient,
+        final ObjectProvider<ConditionalRequestInterceptor> upstreamConditionalRequests,
+        final UpstreamPayloadMetrics upstreamPayloadMetrics, final UpstreamLoadBalancer upstreamLoadBalancer) {
+        // Not buffered: responses are decoded straight off the connection.
+        final UpstreamRequestFactory requestFactory = new UpstreamRequestFactory(upstreamHttpClient);
+        // Requests made within an UpstreamDeadline time out when it passes, on the thread that is waiting for them.
+        requestFactory.setHttpContextFactory((method, uri) -> upstreamHttpContext());
+        final RestTemplate restTemplate = new RestTemplate(requestFactory);
 
         List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
         MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
@@ -68,20 +166,63 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
         messageConverters.add(converter);
         restTemplate.setMessageConverters(messageConverters);
         List<ClientHttpRequestInterceptor> interceptors = restTemplate.getInterceptors();
-        interceptors.add(new LoggingInterceptor());
+        // Outermost first: revalidation wraps logging, so the log shows what actually went over the wire.
+        upstreamConditionalRequests.ifAvailable(interceptors::add);
+        if (upstreamClientProperties.getLogging().isEnabled()) {
+            interceptors.add(new LoggingInterceptor(upstreamClientProperties.getLogging()));
+        }
+        // Inside the conditional cache, so it measures what came over the wire: nothing for a revalidated 304.
+        interceptors.add(upstreamPayloadMetrics);
+        // Last of all: it picks the endpoint and may send a request more than once (hedging).
+        interceptors.add(upstreamLoadBalancer);
         restTemplate.setInterceptors(interceptors);
 
         return restTemplate;
     }
 
-    private SimpleClientHttpRequestFactory createClientFactory() {
-        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setOutputStreaming(false);
-        return requestFactory;
+    private HttpContext upstreamHttpContext() {
+        final Duration remaining = UpstreamDeadline.remaining();
+        if (remaining == null) {
+            return null;
+        }
+        final HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(upstreamRequestConfig(remaining));
+        return context;
+    }
+
+    /**
+     * Timeouts of upstream requests, each capped at {@code deadline} when there is one.
+     */
+    private RequestConfig upstreamRequestConfig(final Duration deadline) {
+        return RequestConfig.custom()
+            .setConnectTimeout(toTimeout(atMost(upstreamClientProperties.getConnectTimeout(), deadline)))
+            .setResponseTimeout(toTimeout(atMost(upstreamClientProperties.getReadTimeout(), deadline)))
+            .setConnectionRequestTimeout(
+                toTimeout(atMost(upstreamClientProperties.getConnectionRequestTimeout(), deadline)))
+            .build();
+    }
+
+    private static Duration atMost(final Duration timeout, final Duration deadline) {
+        if (deadline == null || !timeout.isZero() && timeout.compareTo(deadline) <= 0) {
+            return timeout;
+        }
+        // At least a millisecond: a zero timeout would mean none at all.
+        return deadline.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : deadline;
+    }
+
+    private static Timeout toTimeout(final Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+
+    private static TimeValue toTimeValue(final Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // First, so that a rejected request costs as little as possible.
+        admissionControlInterceptor.ifAvailable(
+            interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/posts", "/posts/**"));
         registry.addInterceptor(responseHeaderInjector);
     }
 }
@@ -3,19 +3,42 @@ package com.audition.integration;
 import com.audition.common.constants.AuditionConstants;
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ConditionalRequestInterceptor;
+import com.audition.configuration.UpstreamClientProperties;
 import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.audition.model.Comment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 @Component
@@ -24,30 +47,51 @@ public class AuditionIntegrationClient {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditionIntegrationClient.class);
 
+    static final String GET_POSTS = "getPosts";
+    static final String GET_POST_BY_ID = "getPostById";
+    static final String GET_POST_WITH_COMMENTS = "getPostWithComments";
+    static final String GET_COMMENTS_FOR_POST = "getCommentsForPost";
+    static final String GET_COMMENTS_FOR_POSTS = "getCommentsForPosts";
+    static final String GET_ALL_COMMENTS = "getAllComments";
+    static final String GET_POSTS_BY_ID = "getPostsById";
+
     @Autowired
     private AuditionLogger auditionLogger;
 
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private ExecutorService upstreamExecutor;
+
+    @Autowired
+    private UpstreamClientProperties upstreamClientProperties;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private PostLookupBatcher postLookupBatcher;
+
     /**
      * Fetches posts from the external API and filters them by category.
      *
-     * @param category the category to filter posts by
-     * @return the list of posts, filtered by category if provided
+     * <p>The response is decoded as it streams in, and posts of other categories are dropped while parsing.</p>
+     *
+     * @param category the category to filter posts by, or {@code null} for all posts
+     * @return the matching posts, in upstream order
      */
-    public List<AuditionPost> getPosts(String category) {
-        auditionLogger.info(logger, "Fetching posts with category: " + category);
+    public List<AuditionPost> getPosts(final String category) {
+        auditionLogger.info(logger, "Fetching posts with category: {}", category);
         String url = AuditionConstants.BASE_URL +"/posts";
         try {
-            AuditionPost[] postsArray = restTemplate.getForObject(url, AuditionPost[].class);
-            List<AuditionPost> posts = postsArray != null ? Arrays.asList(postsArray) : new ArrayList<>();
-            if (category != null && !category.isEmpty()) {
-                posts = posts.stream()
-                        .filter(post -> category.equalsIgnoreCase(post.getCategory()))
-                        .collect(Collectors.toList());
-            }
-            auditionLogger.info(logger, "Fetched " + posts.size() + " posts with category: " + category);
+            List<AuditionPost> posts = upstreamResilience.call(GET_POSTS,
+                () -> streamArray(url, AuditionPost.class, inCategory(category)));
+            auditionLogger.info(logger, "Fetched {} posts with category: {}", posts.size(), category);
             return posts;
         } catch (HttpClientErrorException e) {
             auditionLogger.logErrorWithException(logger, "Error fetching posts with category: " + category, e);
@@ -55,19 +99,60 @@ public class AuditionIntegrationClient {
         }
     }
 
+    /**
+     * Streams the posts of a category from the external API to {@code sink} as they are decoded, without collecting
+     * them. The call is not retried once started, since {@code sink} may already have seen part of the result.
+     *
+     * @param category the category to filter posts by, or {@code null} for all posts
+     * @param sink     receives each matching post, in upstream order
+     */
+    public void streamPosts(final String category, final Consumer<? super AuditionPost> sink) {
+        auditionLogger.info(logger, "Streaming posts with category: {}", category);
+        String url = AuditionConstants.BASE_URL + "/posts";
+        try {
+            upstreamResilience.stream(GET_POSTS,
+                () -> forEachInArray(url, AuditionPost.class, inCategory(category), sink));
+        } catch (HttpClientErrorException e) {
+            auditionLogger.logErrorWithException(logger, "Error streaming posts with category: " + category, e);
+            throw new SystemException("An error occurred while fetching posts: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+        }
+    }
+
+    /**
+     * Fetches the complete, unfiltered post collection from the external API.
+     *
+     * @return every post known to the upstream
+     */
+    public List<AuditionPost> getAllPosts() {
+        return getPosts(null);
+    }
+
 
     /**
      * Fetches a post by its ID from the external API.
      *
+     * <p>When batching is enabled, lookups of numeric IDs that arrive together are resolved with one bulk query.</p>
+     *
      * @param id the ID of the post
      * @return the fetched post
      */
     public AuditionPost getPostById(final String id) {
-        auditionLogger.info(logger, "Fetching post with ID: " + id);
+        auditionLogger.info(logger, "Fetching post with ID: {}", id);
+        final Integer numericId = postLookupBatcher == null ? null : parseId(id);
+        if (numericId != null) {
+            final AuditionPost post = postLookupBatcher.getPostById(numericId);
+            if (post == null) {
+                auditionLogger.error(logger, "Cannot find a Post with id " + id);
+                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found", 404);
+            }
+            auditionLogger.info(logger, "Fetched post with ID: {}", id);
+            return post;
+        }
         String url = AuditionConstants.BASE_URL + "/posts/" + id;
         try {
-            AuditionPost post = restTemplate.getForObject(url, AuditionPost.class);
-            auditionLogger.info(logger, "Fetched post with ID: " + id);
+            AuditionPost post = upstreamResilience.call(GET_POST_BY_ID,
+                () -> restTemplate.getForObject(url, AuditionPost.class));
+            auditionLogger.info(logger, "Fetched post with ID: {}", id);
             return post;
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
@@ -84,49 +169,96 @@ public class AuditionIntegrationClient {
     /**
      * Fetches a post and its comments by post ID from the external API.
      *
+     * <p>The post and its comments are requested concurrently under a single deadline, which also bounds the requests
+     * themselves. If either call fails the other is cancelled and the failure of the first one is reported. When the
+     * upstream executor is saturated the caller gets a 503 rather than the fetches running on its own thread.</p>
+     *
      * @param id the ID of the post
      * @return the fetched post with its comments
      */
     public AuditionPost getPostWithComments(final String id) {
-        auditionLogger.info(logger, "Fetching post with comments for post ID: " + id);
+        auditionLogger.info(logger, "Fetching post with comments for post ID: {}", id);
         String postUrl = AuditionConstants.BASE_URL + "/posts/" + id;
         String commentsUrl = AuditionConstants.BASE_URL+ "/posts/" + id + "/comments";
 
+        final Duration fanOutTimeout = upstreamClientProperties.getFanOutTimeout();
+        final long deadline = System.nanoTime() + fanOutTimeout.toNanos();
+        final CompletionService<Object> completion = new ExecutorCompletionService<>(upstreamExecutor);
+        final List<Future<Object>> fetches = new ArrayList<>(2);
         try {
-            AuditionPost post = restTemplate.getForObject(postUrl, AuditionPost.class);
-            Comment[] commentsArray = restTemplate.getForObject(commentsUrl, Comment[].class);
+            // The requests time out with the fan-out, rather than running on once the caller has given up on them.
+            UpstreamDeadline.within(fanOutTimeout, () -> {
+                fetches.add(completion.submit(fetch(() -> restTemplate.getForObject(postUrl, AuditionPost.class))));
+                fetches.add(completion.submit(fetch(() -> restTemplate.getForObject(commentsUrl, Comment[].class))));
+                return null;
+            });
+            for (int i = 0; i < fetches.size(); i++) {
+                final Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    auditionLogger.error(logger, "Timed out fetching post with comments for post ID: " + id);
+                    throw new SystemException("Timed out fetching post with comments for post ID: " + id, "Gateway Timeout", 504);
+                }
+                done.get();
+            }
 
+            AuditionPost post = (AuditionPost) fetches.get(0).get();
+            Comment[] commentsArray = (Comment[]) fetches.get(1).get();
             if (post != null && commentsArray != null) {
-                post.setComments(Arrays.asList(commentsArray));
+                // The upstream may send null elements, which List.of would reject.
+                post = post.withComments(Arrays.stream(commentsArray).filter(Objects::nonNull).toList());
             }
-
-            auditionLogger.info(logger, "Fetched post with comments for post ID: " + id);
+            auditionLogger.info(logger, "Fetched post with comments for post ID: {}", id);
             return post;
-        } catch (HttpClientErrorException e) {
-            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
-                auditionLogger.logErrorWithException(logger, "Cannot find a Post with id " + id, e);
-                throw new SystemException("Cannot find a Post with id " + id, "Resource Not Found", 404);
-            } else {
-                auditionLogger.logErrorWithException(logger, "Error fetching post with comments for post ID: " + id, e);
-                throw new SystemException("An error occurred: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+        } catch (RejectedExecutionException e) {
+            auditionLogger.logErrorWithException(logger, "No capacity to fetch post with comments for post ID: " + id, e);
+            throw new SystemException("Too many concurrent upstream fetches, please retry shortly", "Service Unavailable", 503, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted fetching post with comments for post ID: " + id, e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof HttpClientErrorException) {
+                throw postWithCommentsError(id, (HttpClientErrorException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
+            throw new SystemException("An error occurred: " + cause.getMessage(), cause);
+        } finally {
+            // Interrupts whichever fetch is still running after a failure or timeout; a no-op once both are done.
+            fetches.forEach(fetch -> fetch.cancel(true));
         }
     }
 
+    private <T> Callable<Object> fetch(final Supplier<T> request) {
+        final Supplier<T> bounded = UpstreamDeadline.propagate(
+            () -> upstreamResilience.call(GET_POST_WITH_COMMENTS, request));
+        return bounded::get;
+    }
+
+    private SystemException postWithCommentsError(final String id, final HttpClientErrorException e) {
+        if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+            auditionLogger.logErrorWithException(logger, "Cannot find a Post with id " + id, e);
+            return new SystemException("Cannot find a Post with id " + id, "Resource Not Found", 404);
+        }
+        auditionLogger.logErrorWithException(logger, "Error fetching post with comments for post ID: " + id, e);
+        return new SystemException("An error occurred: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+    }
+
 
     /**
-     * Fetches comments for a specific post by post ID from the external API.
+     * Fetches comments for a specific post by post ID from the external API, decoding them as they stream in.
      *
      * @param postId the ID of the post
-     * @return the list of comments for the post
+     * @return the comments for the post, in upstream order
      */
     public List<Comment> getCommentsForPost(final String postId) {
-        auditionLogger.info(logger, "Fetching comments for post with ID: " + postId);
+        auditionLogger.info(logger, "Fetching comments for post with ID: {}", postId);
         String url = AuditionConstants.BASE_URL + "/comments?postId=" + postId;
         try {
-            Comment[] commentsArray = restTemplate.getForObject(url, Comment[].class);
-            List<Comment> comments = commentsArray != null ? Arrays.asList(commentsArray) : new ArrayList<>();
-            auditionLogger.info(logger, "Fetched " + comments.size() + " comments for post with ID: " + postId);
+            List<Comment> comments = upstreamResilience.call(GET_COMMENTS_FOR_POST,
+                () -> streamArray(url, Comment.class, ofPost(postId)));
+            auditionLogger.info(logger, "Fetched {} comments for post with ID: {}", comments.size(), postId);
             return comments;
         } catch (HttpClientErrorException e) {
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
@@ -139,4 +271,111 @@ public class AuditionIntegrationClient {
         }
     }
 
+    /**
+     * Streams the comments of a post from the external API to {@code sink} as they are decoded, without collecting
+     * them. The call is not retried once started.
+     *
+     * @param postId the ID of the post
+     * @param sink   receives each comment, in upstream order
+     */
+    public void streamCommentsForPost(final String postId, final Consumer<? super Comment> sink) {
+        auditionLogger.info(logger, "Streaming comments for post with ID: {}", postId);
+        String url = AuditionConstants.BASE_URL + "/comments?postId=" + postId;
+        try {
+            upstreamResilience.stream(GET_COMMENTS_FOR_POST,
+                () -> forEachInArray(url, Comment.class, ofPost(postId), sink));
+        } catch (HttpClientErrorException e) {
+            auditionLogger.logErrorWithException(logger, "Error streaming comments for post with ID: " + postId, e);
+            throw new SystemException("An error occurred: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+        }
+    }
+
+    /**
+     * Fetches the comments of several posts with a single query to the external API.
+     *
+     * @param postIds the IDs of the posts
+     * @return the comments grouped by post ID; posts without comments are absent
+     */
+    public Map<Integer, List<Comment>> getCommentsForPosts(final Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return Map.of();
+        }
+        auditionLogger.info(logger, "Fetching comments for {} posts", postIds.size());
+        String url = AuditionConstants.BASE_URL + "/comments?" + postIds.stream()
+            .map(postId -> "postId=" + postId)
+            .collect(Collectors.joining("&"));
+        try {
+            Comment[] commentsArray = upstreamResilience.call(GET_COMMENTS_FOR_POSTS,
+                () -> restTemplate.getForObject(url, Comment[].class));
+            Map<Integer, List<Comment>> comments = commentsArray == null ? Map.of()
+                : Arrays.stream(commentsArray).collect(Collectors.groupingBy(Comment::getPostId));
+            auditionLogger.info(logger, "Fetched comments for {} of {} posts", comments.size(), postIds.size());
+            return comments;
+        } catch (HttpClientErrorException e) {
+            auditionLogger.logErrorWithException(logger, "Error fetching comments for posts: " + postIds, e);
+            throw new SystemException("An error occurred: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+        }
+    }
+
+    /**
+     * Fetches the complete, unfiltered comment collection from the external API, decoding it as it streams in.
+     *
+     * @return every comment known to the upstream
+     */
+    public List<Comment> getAllComments() {
+        auditionLogger.info(logger, "Fetching all comments");
+        String url = AuditionConstants.BASE_URL + "/comments";
+        try {
+            List<Comment> comments = upstreamResilience.call(GET_ALL_COMMENTS,
+                () -> streamArray(url, Comment.class, comment -> true));
+            auditionLogger.info(logger, "Fetched {} comments", comments.size());
+            return comments;
+        } catch (HttpClientErrorException e) {
+            auditionLogger.logErrorWithException(logger, "Error fetching all comments", e);
+            throw new SystemException("An error occurred while fetching comments: " + e.getMessage(), e.getStatusCode().toString(), e.getStatusCode().value());
+        }
+    }
+
+    private static Integer parseId(final String id) {
+        try {
+            return Integer.valueOf(id);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Predicate<AuditionPost> inCategory(final String category) {
+        if (category == null || category.isEmpty()) {
+            return post -> true;
+        }
+        return post -> category.equalsIgnoreCase(post.getCategory());
+    }
+
+    // Compared as numbers, so that e.g. "01" still matches the comments the upstream returns for post 1.
+    private static Predicate<Comment> ofPost(final String postId) {
+        final Integer id = parseId(postId);
+        return comment -> id != null && id == comment.getPostId();
+    }
+
+    private <T> List<T> streamArray(final String url, final Class<T> type, final Predicate<? super T> filter) {
+        final List<T> elements = new ArrayList<>();
+        forEachInArray(url, type, filter, elements::add);
+        return elements;
+    }
+
+    private <T> void forEachInArray(final String url, final Class<T> type, final Predicate<? super T> filter,
+        final Consumer<? super T> sink) {
+        final JsonArrayReader<T> reader = new JsonArrayReader<>(objectMapper, type);
+        // Decoded as it streams in, so the body must not be copied for revalidation either.
+        ConditionalRequestInterceptor.skipping(() -> restTemplate.execute(url, HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+            response -> {
+                try {
+                    return reader.forEach(response.getBody(), filter, sink);
+                } catch (JsonProcessingException e) {
+                    // A malformed body is not a transport failure and must not be retried.
+                    throw new RestClientException("Could not decode " + type.getSimpleName() + " array from " + url, e);
+                }
+            }));
+    }
 }
@@ -0,0 +1,89 @@
+package com.audition.integration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Decodes a top-level JSON array one element at a time, straight off the response stream.
+ *
+ * <p>Only elements that pass the filter are kept, so neither the raw body nor the unwanted elements are ever held in
+ * memory. Null elements are skipped.</p>
+ *
+ * @param <T> element type
+ */
+public class JsonArrayReader<T> {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader elementReader;
+    private final Class<T> elementType;
+
+    public JsonArrayReader(final ObjectMapper objectMapper, final Class<T> elementType) {
+        this.objectMapper = objectMapper;
+        this.elementReader = objectMapper.readerFor(elementType);
+        this.elementType = elementType;
+    }
+
+    /**
+     * Reads every element of the array.
+     */
+    public List<T> read(final InputStream body) throws IOException {
+        return read(body, element -> true);
+    }
+
+    /**
+     * Reads the elements that match {@code filter}.
+     *
+     * @param body   the JSON array
+     * @param filter which elements to keep
+     * @return the matching elements, in document order
+     * @throws IOException if the body is not a JSON array of {@code T}
+     */
+    public List<T> read(final InputStream body, final Predicate<? super T> filter) throws IOException {
+        final List<T> elements = new ArrayList<>();
+        forEach(body, filter, elements::add);
+        return elements;
+    }
+
+    /**
+     * Hands each element that matches {@code filter} to {@code sink} as soon as it is decoded. Nothing but the current
+     * element is held in memory.
+     *
+     * @return the number of elements passed to {@code sink}
+     * @throws IOException if the body is not a JSON array of {@code T}
+     */
+    public int forEach(final InputStream body, final Predicate<? super T> filter, final Consumer<? super T> sink)
+        throws IOException {
+        int emitted = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            final JsonToken first = parser.nextToken();
+            if (first == null) {
+                return emitted;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, elementType,
+                    "Expected a JSON array of " + elementType.getSimpleName() + " but found " + first);
+            }
+            JsonToken token = parser.nextToken();
+            while (token != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.VALUE_NULL) {
+                    final T element = elementReader.readValue(parser);
+                    if (filter.test(element)) {
+                        sink.accept(element);
+                        emitted++;
+                    }
+                }
+                token = parser.nextToken();
+            }
+        }
+        return emitted;
+    }
+}
@@ -0,0 +1,187 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Collects concurrent single-key lookups into one bulk load.
+ *
+ * <p>The first lookup opens a batch. The batch is dispatched once it holds {@code maxBatchSize} distinct keys or when
+ * {@code window} has passed, whichever comes first. Lookups of a key already in the open batch share its result. The
+ * bulk load runs on {@code executor}; keys it does not return complete with {@code null}, and if it fails, or cannot be
+ * dispatched at all, every caller in the batch sees the failure.</p>
+ *
+ * <p>Batch sizes are recorded as {@code audition.upstream.batch.size} and the time each lookup waited for its batch
+ * to be dispatched as {@code audition.upstream.batch.queue}, both tagged by name.</p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class MicroBatcher<K, V> implements MeterBinder {
+
+    private final String name;
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+
+    // A lock rather than synchronized, so that virtual threads waiting to enqueue do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<K, V> open;
+
+    private volatile DistributionSummary batchSize;
+    private volatile Timer queueDelay;
+
+    public MicroBatcher(final String name, final Function<Set<K>, Map<K, V>> loader, final Duration window,
+        final int maxBatchSize, final ScheduledExecutorService scheduler, final Executor executor) {
+        this.name = name;
+        this.loader = loader;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = scheduler;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds {@code key} to the open batch.
+     *
+     * @return completes with the loaded value, or {@code null} if the bulk load did not return one
+     */
+    public CompletableFuture<V> submit(final K key) {
+        final Batch<K, V> full;
+        final CompletableFuture<V> result;
+        lock.lock();
+        try {
+            if (open == null) {
+                final Batch<K, V> batch = new Batch<>();
+                batch.timer = scheduler.schedule(() -> flush(batch), window.toNanos(), TimeUnit.NANOSECONDS);
+                open = batch;
+            }
+            result = open.waiters.computeIfAbsent(key, k -> new Waiter<>(System.nanoTime())).future();
+            if (open.waiters.size() < maxBatchSize) {
+                return result;
+            }
+            full = open;
+            open = null;
+        } finally {
+            lock.unlock();
+        }
+        full.timer.cancel(false);
+        dispatch(full);
+        return result;
+    }
+
+    /**
+     * Looks up {@code key} through the batch and waits at most {@code timeout} for the result.
+     *
+     * @throws SystemException with status 504 if the result has not arrived in time
+     */
+    public V get(final K key, final Duration timeout) {
+        try {
+            return submit(key).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            throw new SystemException("Timed out waiting for batched lookup of " + key, "Gateway Timeout", 504);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted waiting for batched lookup of " + key, e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SystemException("An error occurred: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        batchSize = DistributionSummary.builder("audition.upstream.batch.size")
+            .description("Distinct keys resolved by each bulk upstream call")
+            .tag("name", name)
+            .register(registry);
+        queueDelay = Timer.builder("audition.upstream.batch.queue")
+            .description("Time a lookup waited for its batch to be dispatched")
+            .tag("name", name)
+            .register(registry);
+    }
+
+    private void flush(final Batch<K, V> batch) {
+        lock.lock();
+        try {
+            if (open != batch) {
+                // Already dispatched because it filled up.
+                return;
+            }
+            open = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(final Batch<K, V> batch) {
+        try {
+            executor.execute(() -> load(batch));
+        } catch (final RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    // Whatever goes wrong, each waiter must be completed, or its caller would wait for its whole timeout.
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    private void load(final Batch<K, V> batch) {
+        final long dispatched = System.nanoTime();
+        final DistributionSummary size = batchSize;
+        final Timer delay = queueDelay;
+        if (size != null && delay != null) {
+            size.record(batch.waiters.size());
+            batch.waiters.values().forEach(
+                waiter -> delay.record(dispatched - waiter.enqueued(), TimeUnit.NANOSECONDS));
+        }
+        final Map<K, V> loaded;
+        try {
+            loaded = loader.apply(batch.waiters.keySet());
+        } catch (final Throwable e) {
+            fail(batch, e);
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return;
+        }
+        batch.waiters.forEach((key, waiter) -> waiter.future().complete(loaded.get(key)));
+    }
+
+    private static <K, V> void fail(final Batch<K, V> batch, final Throwable e) {
+        batch.waiters.values().forEach(waiter -> waiter.future().completeExceptionally(e));
+    }
+
+    private static final class Batch<K, V> {
+
+        private final Map<K, Waiter<V>> waiters = new LinkedHashMap<>();
+        private ScheduledFuture<?> timer;
+    }
+
+    private record Waiter<V>(long enqueued, CompletableFuture<V> future) {
+
+        private Waiter(final long enqueued) {
+            this(enqueued, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.audition.integration;
+
+import com.audition.common.constants.AuditionConstants;
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ConditionalRequestInterceptor;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.UpstreamClientProperties;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Resolves concurrent {@link AuditionIntegrationClient#getPostById(String)} lookups for different posts with a single
+ * {@code /posts?id=1&id=2...} query per batch, see {@link MicroBatcher}.
+ *
+ * <p>The whole bulk load, retries included, must finish within the upstream time limit, and callers wait no longer
+ * than the batch window plus that limit.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "audition.api.client.batching", name = "enabled")
+public class PostLookupBatcher implements MeterBinder, DisposableBean {
+
+    private final RestTemplate restTemplate;
+    private final UpstreamResilience upstreamResilience;
+    private final JsonArrayReader<AuditionPost> reader;
+    private final Duration loadTimeout;
+    private final Duration maxWait;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MicroBatcher<Integer, AuditionPost> batcher;
+
+    public PostLookupBatcher(final RestTemplate restTemplate, final UpstreamResilience upstreamResilience,
+        final ObjectMapper objectMapper, final UpstreamClientProperties upstreamClientProperties,
+        final ResilienceProperties resilienceProperties) {
+        this.restTemplate = restTemplate;
+        this.upstreamResilience = upstreamResilience;
+        this.reader = new JsonArrayReader<>(objectMapper, AuditionPost.class);
+        this.loadTimeout = resilienceProperties.getTimeLimiter().getTimeout();
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("post-batcher-");
+        threadFactory.setDaemon(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        final UpstreamClientProperties.Batching batching = upstreamClientProperties.getBatching();
+        this.maxWait = batching.getWindow().plus(loadTimeout);
+        this.batcher = new MicroBatcher<>("posts", this::getPostsById, batching.getWindow(), batching.getMaxSize(),
+            scheduler, loadExecutor);
+    }
+
+    /**
+     * Looks up a post together with any other posts being looked up at the same time.
+     *
+     * @return the post, or {@code null} if the upstream has no post with this ID
+     */
+    public AuditionPost getPostById(final int id) {
+        return batcher.get(id, maxWait);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        batcher.bindTo(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        loadExecutor.shutdownNow();
+    }
+
+    private Map<Integer, AuditionPost> getPostsById(final Set<Integer> ids) {
+        final String url = AuditionConstants.BASE_URL + "/posts?" + ids.stream()
+            .map(id -> "id=" + id)
+            .collect(Collectors.joining("&"));
+        try {
+            return UpstreamDeadline.within(loadTimeout, () -> upstreamResilience.call(
+                AuditionIntegrationClient.GET_POSTS_BY_ID, () -> readPosts(url, ids)));
+        } catch (final HttpClientErrorException e) {
+            throw new SystemException("An error occurred: " + e.getMessage(), e.getStatusCode().toString(),
+                e.getStatusCode().value());
+        }
+    }
+
+    // Each batch has its own URL, so its body is decoded as it streams in and never kept for revalidation.
+    private Map<Integer, AuditionPost> readPosts(final String url, final Set<Integer> ids) {
+        final Map<Integer, AuditionPost> byId = new HashMap<>();
+        ConditionalRequestInterceptor.skipping(() -> restTemplate.execute(url, HttpMethod.GET,
+            request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+            response -> {
+                try {
+                    return reader.forEach(response.getBody(), post -> ids.contains(post.getId()),
+                        post -> byId.putIfAbsent(post.getId(), post));
+                } catch (final JsonProcessingException e) {
+                    // A malformed body is not a transport failure and must not be retried.
+                    throw new RestClientException("Could not decode AuditionPost array from " + url, e);
+                }
+            }));
+        return byId;
+    }
+}
@@ -0,0 +1,143 @@
+package com.audition.integration;
+
+import com.audition.common.constants.AuditionConstants;
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.UpstreamClientProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AuditionIntegrationClient} built on {@link WebClient}.
+ *
+ * <p>Upstream arrays are decoded element by element as they arrive instead of being buffered whole, and errors are
+ * mapped to the same {@link SystemException}s as the blocking client.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "audition.api.client", name = "mode", havingValue = "reactive")
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+public class ReactiveAuditionIntegrationClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuditionIntegrationClient.class);
+
+    private final WebClient webClient;
+
+    private final AuditionLogger auditionLogger;
+
+    private final UpstreamClientProperties upstreamClientProperties;
+
+    private final UpstreamResilience upstreamResilience;
+
+    public ReactiveAuditionIntegrationClient(@Qualifier("auditionWebClient") final WebClient webClient,
+        final AuditionLogger auditionLogger, final UpstreamClientProperties upstreamClientProperties,
+        final UpstreamResilience upstreamResilience) {
+        this.webClient = webClient;
+        this.auditionLogger = auditionLogger;
+        this.upstreamClientProperties = upstreamClientProperties;
+        this.upstreamResilience = upstreamResilience;
+    }
+
+    /**
+     * Streams posts from the external API, filtered by category while they are decoded.
+     *
+     * @param category the category to filter posts by
+     * @return the posts, filtered by category if provided
+     */
+    public Flux<AuditionPost> getPosts(final String category) {
+        auditionLogger.info(logger, "Fetching posts with category: {}", category);
+        Flux<AuditionPost> posts = upstreamResilience.decorate(AuditionIntegrationClient.GET_POSTS, webClient.get()
+            .uri(AuditionConstants.BASE_URL + "/posts")
+            .retrieve()
+            .bodyToFlux(AuditionPost.class));
+        if (category != null && !category.isEmpty()) {
+            posts = posts.filter(post -> category.equalsIgnoreCase(post.getCategory()));
+        }
+        return posts.onErrorMap(WebClientResponseException.class, e -> toSystemException(e, null,
+            "Error fetching posts with category: " + category, "An error occurred while fetching posts: "));
+    }
+
+    /**
+     * Fetches a post by its ID from the external API.
+     *
+     * @param id the ID of the post
+     * @return the fetched post
+     */
+    public Mono<AuditionPost> getPostById(final String id) {
+        auditionLogger.info(logger, "Fetching post with ID: {}", id);
+        return upstreamResilience.decorate(AuditionIntegrationClient.GET_POST_BY_ID, fetchPost(id))
+            .onErrorMap(WebClientResponseException.class, e -> toSystemException(e,
+                "Cannot find a Post with id " + id, "Error fetching post with ID: " + id, "An error occurred: "));
+    }
+
+    /**
+     * Fetches a post and its comments concurrently. If either call fails the other is cancelled.
+     *
+     * @param id the ID of the post
+     * @return the fetched post with its comments
+     */
+    public Mono<AuditionPost> getPostWithComments(final String id) {
+        auditionLogger.info(logger, "Fetching post with comments for post ID: {}", id);
+        final Mono<AuditionPost> post = fetchPost(id);
+        final Mono<List<Comment>> comments = webClient.get()
+            .uri(AuditionConstants.BASE_URL + "/posts/" + id + "/comments")
+            .retrieve()
+            .bodyToFlux(Comment.class)
+            .collectList();
+        return Mono.zip(upstreamResilience.decorate(AuditionIntegrationClient.GET_POST_WITH_COMMENTS, post),
+                upstreamResilience.decorate(AuditionIntegrationClient.GET_POST_WITH_COMMENTS, comments))
+            .map(postAndComments -> postAndComments.getT1().withComments(postAndComments.getT2()))
+            .timeout(upstreamClientProperties.getFanOutTimeout())
+            .onErrorMap(TimeoutException.class, e -> new SystemException(
+                "Timed out fetching post with comments for post ID: " + id, "Gateway Timeout", 504))
+            .onErrorMap(WebClientResponseException.class, e -> toSystemException(e,
+                "Cannot find a Post with id " + id, "Error fetching post with comments for post ID: " + id,
+                "An error occurred: "));
+    }
+
+    /**
+     * Streams the comments for a specific post from the external API.
+     *
+     * @param postId the ID of the post
+     * @return the comments for the post
+     */
+    public Flux<Comment> getCommentsForPost(final String postId) {
+        auditionLogger.info(logger, "Fetching comments for post with ID: {}", postId);
+        return upstreamResilience.decorate(AuditionIntegrationClient.GET_COMMENTS_FOR_POST, webClient.get()
+                .uri(AuditionConstants.BASE_URL + "/comments?postId=" + postId)
+                .retrieve()
+                .bodyToFlux(Comment.class))
+            .onErrorMap(WebClientResponseException.class, e -> toSystemException(e,
+                "Cannot find comments for post with id " + postId,
+                "Error fetching comments for post with ID: " + postId, "An error occurred: "));
+    }
+
+    private Mono<AuditionPost> fetchPost(final String id) {
+        return webClient.get()
+            .uri(AuditionConstants.BASE_URL + "/posts/" + id)
+            .retrieve()
+            .bodyToMono(AuditionPost.class);
+    }
+
+    private SystemException toSystemException(final WebClientResponseException e, final String notFoundMessage,
+        final String logMessage, final String messagePrefix) {
+        if (notFoundMessage != null && e.getStatusCode() == HttpStatus.NOT_FOUND) {
+            auditionLogger.logErrorWithException(logger, notFoundMessage, e);
+            return new SystemException(notFoundMessage, "Resource Not Found", 404);
+        }
+        auditionLogger.logErrorWithException(logger, logMessage, e);
+        return new SystemException(messagePrefix + e.getMessage(), e.getStatusCode().toString(),
+            e.getStatusCode().value());
+    }
+}
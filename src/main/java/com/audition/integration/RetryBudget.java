@@ -0,0 +1,50 @@
+package com.audition.integration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of overall traffic so that retries cannot multiply load on a struggling upstream.
+ *
+ * <p>Every first attempt deposits {@code ratio} of a retry into a shared balance, up to {@code maxRetries}; every
+ * retry withdraws a whole one. Once the balance is spent, failures are returned to callers without retrying.</p>
+ *
+ * <p>Callers check {@link #hasRetry()} when deciding whether to retry, and pay with {@link #onRetry()} once the retry
+ * is scheduled, since only then is it known to happen. Concurrent retries may overdraw the balance slightly; later
+ * requests pay it back.</p>
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    public RetryBudget(final double ratio, final int maxRetries) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxRetries * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * Whether a retry would currently be allowed, without withdrawing it.
+     */
+    public boolean hasRetry() {
+        return balance.get() >= SCALE;
+    }
+
+    /**
+     * Withdraws one retry that is going ahead, even if that overdraws the budget.
+     */
+    public void onRetry() {
+        balance.addAndGet(-SCALE);
+    }
+
+    public double availableRetries() {
+        return balance.get() / (double) SCALE;
+    }
+}
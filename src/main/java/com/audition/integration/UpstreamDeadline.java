@@ -0,0 +1,110 @@
+package com.audition.integration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * The deadline of the upstream attempt running on the current thread.
+ *
+ * <p>{@link UpstreamResilience#call} sets it around each attempt, and the upstream request factory turns what is left
+ * of it into the response timeout of the HTTP request. Since that only bounds each read, the factory also
+ * {@linkplain #abortOnExpiry(Runnable) aborts} a request still running when the deadline passes, e.g. one whose
+ * upstream keeps trickling its body. The attempt therefore runs on the caller's thread and is actually stopped at the
+ * deadline, instead of a future being abandoned while the request keeps its connection.</p>
+ */
+public final class UpstreamDeadline {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+    private static final ScheduledThreadPoolExecutor TIMER = timer();
+
+    private UpstreamDeadline() {
+    }
+
+    /**
+     * Runs {@code call} with a deadline {@code timeout} from now, or the current deadline if that is sooner.
+     */
+    public static <T> T within(final Duration timeout, final Supplier<T> call) {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final Scope outer = SCOPE.get();
+        return at(outer != null && outer.deadline - deadline < 0 ? outer.deadline : deadline, call);
+    }
+
+    /**
+     * Binds the current deadline, if any, to {@code call}, so that it applies on whichever thread runs it.
+     */
+    public static <T> Supplier<T> propagate(final Supplier<T> call) {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return call;
+        }
+        final long deadline = scope.deadline;
+        return () -> at(deadline, call);
+    }
+
+    /**
+     * The time left before the current deadline.
+     *
+     * @return the time left, {@link Duration#ZERO} once it has passed, or {@code null} outside of any deadline
+     */
+    public static Duration remaining() {
+        final Scope scope = SCOPE.get();
+        if (scope == null) {
+            return null;
+        }
+        final long left = scope.deadline - System.nanoTime();
+        return left > 0 ? Duration.ofNanos(left) : Duration.ZERO;
+    }
+
+    /**
+     * Runs {@code abort} if the current deadline passes while the call made within it is still running. Does nothing
+     * outside of any deadline.
+     */
+    public static void abortOnExpiry(final Runnable abort) {
+        final Scope scope = SCOPE.get();
+        if (scope != null) {
+            scope.timers.add(TIMER.schedule(abort, scope.deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private static <T> T at(final long deadline, final Supplier<T> call) {
+        final Scope outer = SCOPE.get();
+        final Scope scope = new Scope(deadline);
+        SCOPE.set(scope);
+        try {
+            return call.get();
+        } finally {
+            scope.timers.forEach(timer -> timer.cancel(false));
+            if (outer == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(outer);
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor timer() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("upstream-deadline-");
+        threadFactory.setDaemon(true);
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        // Nearly every abort is cancelled because its call finished in time; drop those straight away.
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    // Only used by the thread that owns it.
+    private static final class Scope {
+
+        private final long deadline;
+        private final List<ScheduledFuture<?>> timers = new ArrayList<>(1);
+
+        private Scope(final long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
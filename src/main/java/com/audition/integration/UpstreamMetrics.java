@@ -0,0 +1,150 @@
+package com.audition.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times each upstream attempt as {@code audition.upstream.requests}, tagged by operation, outcome and status class.
+ *
+ * <p>While an attempt runs, its operation is also visible to the HTTP interceptors on the same thread through
+ * {@link #currentOperation()}, so what they measure can be attributed to it. Histograms and SLO buckets are configured
+ * through {@code management.metrics.distribution.*}. Nothing is recorded until a registry is bound.</p>
+ */
+public class UpstreamMetrics {
+
+    public static final String REQUESTS_METRIC = "audition.upstream.requests";
+    public static final String UNKNOWN_OPERATION = "unknown";
+
+    private static final ThreadLocal<String> CURRENT_OPERATION = new ThreadLocal<>();
+
+    private final ConcurrentMap<Key, Timer> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Returns the upstream operation being attempted on this thread, or {@link #UNKNOWN_OPERATION}.
+     */
+    public static String currentOperation() {
+        final String operation = CURRENT_OPERATION.get();
+        return operation == null ? UNKNOWN_OPERATION : operation;
+    }
+
+    public void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Runs and times one blocking attempt of {@code operation}.
+     */
+    public <T> T record(final String operation, final Supplier<T> attempt) {
+        final String previous = CURRENT_OPERATION.get();
+        CURRENT_OPERATION.set(operation);
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return attempt.get();
+        } catch (final RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            CURRENT_OPERATION.set(previous);
+            record(operation, start, failure);
+        }
+    }
+
+    /**
+     * Runs and times one blocking attempt of {@code operation}.
+     */
+    public void record(final String operation, final Runnable attempt) {
+        record(operation, () -> {
+            attempt.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times every subscription to {@code attempt}, i.e. every attempt including retries.
+     */
+    public <T> Mono<T> record(final String operation, final Mono<T> attempt) {
+        return Mono.defer(() -> {
+            final long start = System.nanoTime();
+            return attempt
+                .doOnSuccess(value -> record(operation, start, null))
+                .doOnError(e -> record(operation, start, e));
+        });
+    }
+
+    /**
+     * Times every subscription to {@code attempt}, i.e. every attempt including retries.
+     */
+    public <T> Flux<T> record(final String operation, final Flux<T> attempt) {
+        return Flux.defer(() -> {
+            final long start = System.nanoTime();
+            return attempt
+                .doOnComplete(() -> record(operation, start, null))
+                .doOnError(e -> record(operation, start, e));
+        });
+    }
+
+    private void record(final String operation, final long start, final Throwable failure) {
+        final MeterRegistry target = registry;
+        if (target == null) {
+            return;
+        }
+        final Key key = new Key(operation, outcome(failure), statusClass(failure));
+        timers.computeIfAbsent(key, k -> Timer.builder(REQUESTS_METRIC)
+                .description("Upstream call attempts")
+                .tag("operation", k.operation())
+                .tag("outcome", k.outcome())
+                .tag("status", k.status())
+                .register(target))
+            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(final Throwable failure) {
+        if (failure == null) {
+            return "SUCCESS";
+        }
+        final HttpStatusCode status = status(failure);
+        if (status == null) {
+            return isTransportFailure(failure) ? "IO_ERROR" : "UNKNOWN";
+        }
+        return status.is4xxClientError() ? "CLIENT_ERROR" : status.is5xxServerError() ? "SERVER_ERROR" : "UNKNOWN";
+    }
+
+    private static String statusClass(final Throwable failure) {
+        if (failure == null) {
+            return "2xx";
+        }
+        final HttpStatusCode status = status(failure);
+        return status == null ? "none" : status.value() / 100 + "xx";
+    }
+
+    private static HttpStatusCode status(final Throwable failure) {
+        if (failure instanceof RestClientResponseException responseException) {
+            return responseException.getStatusCode();
+        }
+        if (failure instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode();
+        }
+        return null;
+    }
+
+    private static boolean isTransportFailure(final Throwable failure) {
+        return failure instanceof ResourceAccessException || failure instanceof WebClientRequestException;
+    }
+
+    private record Key(String operation, String outcome, String status) {
+
+    }
+}
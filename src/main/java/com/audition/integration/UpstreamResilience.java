@@ -0,0 +1,241 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.ResilienceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Guards every upstream operation with its own retry, circuit breaker, bulkhead and time limiter.
+ *
+ * <p>Decorators are applied as Retry(CircuitBreaker(Bulkhead(TimeLimiter(call)))). A blocking call runs on the caller's
+ * thread and its time limit is an {@link UpstreamDeadline}, which caps the timeouts of the HTTP request and aborts it
+ * when it passes, so that the bulkhead permit is only released once the request has really stopped. Only transport
+ * failures, timeouts and 5xx responses are retried, and only while the shared {@link RetryBudget} allows it. 4xx
+ * responses are answers, not failures: they neither trip the breaker nor get retried. When the upstream cannot answer
+ * the caller gets an {@link UpstreamUnavailableException} so it can fall back to data it already has.</p>
+ *
+ * <p>Each attempt is timed by {@link UpstreamMetrics}.</p>
+ */
+public class UpstreamResilience implements MeterBinder {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final RetryRegistry retryRegistry;
+    private final RetryBudget retryBudget;
+    private final ResilienceProperties.Bulkhead bulkheadProperties;
+    private final Duration callTimeout;
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics();
+
+    public UpstreamResilience(final ResilienceProperties properties) {
+        final ResilienceProperties.CircuitBreaker circuitBreaker = properties.getCircuitBreaker();
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+            .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(circuitBreaker.getSlowCallDurationThreshold())
+            .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+            .minimumNumberOfCalls(circuitBreaker.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(circuitBreaker.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(circuitBreaker.getPermittedCallsInHalfOpenState())
+            .ignoreException(UpstreamResilience::isClientError)
+            // Only failures of the upstream itself count, not e.g. a streaming caller that went away.
+            .recordException(UpstreamResilience::isRetryable)
+            .build());
+
+        this.bulkheadProperties = properties.getBulkhead();
+        this.bulkheadRegistry = BulkheadRegistry.of(bulkheadConfig(bulkheadProperties.getMaxConcurrentCalls()));
+
+        this.callTimeout = properties.getTimeLimiter().getTimeout();
+        this.timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+            .timeoutDuration(properties.getTimeLimiter().getTimeout())
+            .cancelRunningFuture(true)
+            .build());
+
+        this.retryBudget = new RetryBudget(properties.getRetryBudget().getRatio(),
+            properties.getRetryBudget().getMaxRetries());
+        final ResilienceProperties.Retry retry = properties.getRetry();
+        this.retryRegistry = RetryRegistry.of(RetryConfig.custom()
+            .maxAttempts(retry.getMaxAttempts())
+            .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(retry.getInitialBackoff(),
+                retry.getBackoffMultiplier(), retry.getJitter()))
+            // Also asked after the last attempt, so it only checks the budget; a retry is paid for once scheduled.
+            .retryOnException(e -> isRetryable(e) && retryBudget.hasRetry())
+            .build());
+        retryRegistry.getEventPublisher().onEntryAdded(
+            event -> event.getAddedEntry().getEventPublisher().onRetry(retried -> retryBudget.onRetry()));
+    }
+
+    /**
+     * Runs a blocking upstream call under the resilience policies of {@code operation}.
+     *
+     * @throws HttpClientErrorException     unchanged, when the upstream answered with a 4xx
+     * @throws UpstreamUnavailableException when the upstream could not answer
+     */
+    public <T> T call(final String operation, final Supplier<T> call) {
+        retryBudget.onRequest();
+        Callable<T> decorated = () -> UpstreamDeadline.within(callTimeout,
+            () -> upstreamMetrics.record(operation, call));
+        decorated = Bulkhead.decorateCallable(bulkhead(operation), decorated);
+        decorated = CircuitBreaker.decorateCallable(circuitBreakerRegistry.circuitBreaker(operation), decorated);
+        decorated = Retry.decorateCallable(retryRegistry.retry(operation), decorated);
+        try {
+            return decorated.call();
+        } catch (final RuntimeException e) {
+            throw translate(operation, e);
+        } catch (final Exception e) {
+            final RuntimeException translated = translate(operation, e);
+            throw translated != null ? translated : new SystemException("Upstream call " + operation + " failed", e);
+        }
+    }
+
+    /**
+     * Runs a blocking upstream call that streams its result to the caller as it arrives, under the circuit breaker
+     * and bulkhead of {@code operation}. It is neither retried, since part of the result may already have been
+     * consumed, nor time limited, since its duration grows with the size of the result.
+     *
+     * @throws HttpClientErrorException     unchanged, when the upstream answered with a 4xx
+     * @throws UpstreamUnavailableException when the upstream could not answer
+     */
+    public void stream(final String operation, final Runnable call) {
+        Runnable decorated = Bulkhead.decorateRunnable(bulkhead(operation),
+            () -> upstreamMetrics.record(operation, call));
+        decorated = CircuitBreaker.decorateRunnable(circuitBreakerRegistry.circuitBreaker(operation), decorated);
+        try {
+            decorated.run();
+        } catch (final RuntimeException e) {
+            throw translate(operation, e);
+        }
+    }
+
+    /**
+     * Applies the resilience policies of {@code operation} to a non-blocking upstream call.
+     */
+    public <T> Mono<T> decorate(final String operation, final Mono<T> call) {
+        final Mono<T> retried = upstreamMetrics.record(operation, call)
+            .transformDeferred(TimeLimiterOperator.of(timeLimiterRegistry.timeLimiter(operation)))
+            .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(operation)))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(operation)));
+        // Outside of what the retry resubscribes to: a call deposits into the budget once, not once per attempt.
+        return Mono.defer(() -> {
+            retryBudget.onRequest();
+            return retried;
+        })
+            .onErrorMap(UpstreamResilience::isUnavailable, e -> translate(operation, e));
+    }
+
+    /**
+     * Applies the resilience policies of {@code operation} to a non-blocking upstream call.
+     */
+    public <T> Flux<T> decorate(final String operation, final Flux<T> call) {
+        final Flux<T> retried = upstreamMetrics.record(operation, call)
+            .transformDeferred(TimeLimiterOperator.of(timeLimiterRegistry.timeLimiter(operation)))
+            .transformDeferred(BulkheadOperator.of(bulkhead(operation)))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(operation)))
+            .transformDeferred(RetryOperator.of(retryRegistry.retry(operation)));
+        // Outside of what the retry resubscribes to: a call deposits into the budget once, not once per attempt.
+        return Flux.defer(() -> {
+            retryBudget.onRequest();
+            return retried;
+        })
+            .onErrorMap(UpstreamResilience::isUnavailable, e -> translate(operation, e));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(registry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(registry);
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiterRegistry).bindTo(registry);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(registry);
+        upstreamMetrics.bindTo(registry);
+        Gauge.builder("audition.upstream.retry.budget.available", retryBudget, RetryBudget::availableRetries)
+            .description("Retries currently allowed by the shared retry budget")
+            .register(registry);
+    }
+
+    private Bulkhead bulkhead(final String operation) {
+        final Integer override = bulkheadProperties.getOperations().get(operation);
+        if (override == null) {
+            return bulkheadRegistry.bulkhead(operation);
+        }
+        return bulkheadRegistry.bulkhead(operation, bulkheadConfig(override));
+    }
+
+    private BulkheadConfig bulkheadConfig(final int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+            .maxConcurrentCalls(maxConcurrentCalls)
+            .maxWaitDuration(bulkheadProperties.getMaxWaitDuration())
+            .build();
+    }
+
+    private static RuntimeException translate(final String operation, final Throwable e) {
+        if (e instanceof CallNotPermittedException) {
+            return new UpstreamUnavailableException("Upstream circuit for " + operation + " is open", e);
+        }
+        if (e instanceof BulkheadFullException) {
+            return new UpstreamUnavailableException("Too many concurrent upstream calls for " + operation, e);
+        }
+        if (e instanceof TimeoutException) {
+            return new UpstreamUnavailableException("Upstream call " + operation + " timed out", e);
+        }
+        if (isRetryable(e)) {
+            return new UpstreamUnavailableException("Upstream call " + operation + " failed: " + e.getMessage(), e);
+        }
+        return e instanceof RuntimeException ? (RuntimeException) e : null;
+    }
+
+    private static boolean isUnavailable(final Throwable e) {
+        return e instanceof CallNotPermittedException || e instanceof BulkheadFullException || isRetryable(e);
+    }
+
+    private static boolean isRetryable(final Throwable e) {
+        return e instanceof ResourceAccessException
+            || e instanceof HttpServerErrorException
+            || e instanceof TimeoutException
+            || e instanceof WebClientRequestException
+            || e instanceof WebClientResponseException && ((WebClientResponseException) e).getStatusCode()
+            .is5xxServerError();
+    }
+
+    private static boolean isClientError(final Throwable e) {
+        return e instanceof HttpClientErrorException
+            || e instanceof WebClientResponseException && ((WebClientResponseException) e).getStatusCode()
+            .is4xxClientError();
+    }
+}
@@ -1,38 +1,41 @@
 package com.audition.model;
 
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
-
-import java.util.ArrayList;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
+import lombok.Getter;
 
+/**
+ * An upstream post. Instances are immutable and are shared between requests by the caches and the snapshot, so their
+ * comment list is handed out as is rather than copied on every read.
+ */
 @Getter
-@Setter
-@NoArgsConstructor
-public class AuditionPost {
+public final class AuditionPost {
 
-    private int userId;
-    private int id;
-    private String title;
-    private String body;
-    private String category;
-    private List<Comment> comments;
+    private final int userId;
+    private final int id;
+    private final String title;
+    private final String body;
+    private final String category;
+    private final List<Comment> comments;
 
-    public AuditionPost(int userId, int id, String title, String body, String category, List<Comment> comments) {
+    @JsonCreator
+    public AuditionPost(@JsonProperty("userId") final int userId, @JsonProperty("id") final int id,
+        @JsonProperty("title") final String title, @JsonProperty("body") final String body,
+        @JsonProperty("category") final String category, @JsonProperty("comments") final List<Comment> comments) {
         this.userId = userId;
         this.id = id;
         this.title = title;
         this.body = body;
-        this.category = category;
-        this.comments = comments == null ? null : new ArrayList<>(comments);
-    }
-
-    public List<Comment> getComments() {
-        return comments == null ? null : new ArrayList<>(comments);
+        this.category = Interning.intern(category);
+        // No copy when the list is already an unmodifiable List.copyOf / List.of.
+        this.comments = comments == null ? null : List.copyOf(comments);
     }
 
-    public void setComments(List<Comment> comments) {
-        this.comments = comments == null ? null : new ArrayList<>(comments);
+    /**
+     * Returns this post with {@code comments} attached.
+     */
+    public AuditionPost withComments(final List<Comment> comments) {
+        return new AuditionPost(userId, id, title, body, category, comments);
     }
 }
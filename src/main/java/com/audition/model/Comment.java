@@ -1,19 +1,29 @@
 package com.audition.model;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
+/**
+ * An upstream comment. Immutable, like {@link AuditionPost}.
+ */
 @Getter
-@Setter
-@AllArgsConstructor
-@NoArgsConstructor
-public class Comment {
+public final class Comment {
 
-    private int id;
-    private int postId;
-    private String name;
-    private String email;
-    private String body;
+    private final int id;
+    private final int postId;
+    private final String name;
+    private final String email;
+    private final String body;
+
+    @JsonCreator
+    public Comment(@JsonProperty("id") final int id, @JsonProperty("postId") final int postId,
+        @JsonProperty("name") final String name, @JsonProperty("email") final String email,
+        @JsonProperty("body") final String body) {
+        this.id = id;
+        this.postId = postId;
+        this.name = name;
+        this.email = Interning.intern(email);
+        this.body = body;
+    }
 }
@@ -0,0 +1,20 @@
+package com.audition.model;
+
+import com.github.benmanes.caffeine.cache.Interner;
+
+/**
+ * Deduplicates field values that repeat across many model instances, such as a post's category or a commenter's
+ * email, so the caches and the snapshot hold one copy of each. Weakly held: a value is dropped once no model refers to
+ * it.
+ */
+final class Interning {
+
+    private static final Interner<String> STRINGS = Interner.newWeakInterner();
+
+    private Interning() {
+    }
+
+    static String intern(final String value) {
+        return value == null ? null : STRINGS.intern(value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.audition.model;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+import lombok.Getter;
+
+/**
+ * One slice of an id-ordered collection, plus what a client needs to fetch the next one.
+ *
+ * @param <T> item type
+ */
+@Getter
+public final class Page<T> {
+
+    /**
+     * The items of this page; a view over the source list rather than a copy.
+     */
+    private final List<T> items;
+
+    private final int totalElements;
+
+    /**
+     * Page number to request next in page mode, or {@code null} if this is the last page or not in page mode.
+     */
+    private final Integer nextPage;
+
+    /**
+     * Cursor to request next in cursor mode, or {@code null} if this is the last page or not in cursor mode.
+     */
+    private final String nextCursor;
+
+    private Page(final List<T> items, final int totalElements, final Integer nextPage, final String nextCursor) {
+        this.items = items;
+        this.totalElements = totalElements;
+        this.nextPage = nextPage;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Cuts the requested page out of {@code sortedById} without copying it.
+     *
+     * @param sortedById items in ascending id order
+     * @param id         extracts an item's id
+     * @param query      the requested page
+     */
+    public static <T> Page<T> of(final List<T> sortedById, final ToIntFunction<? super T> id,
+        final PageQuery query) {
+        final int total = sortedById.size();
+        if (!query.isPaged()) {
+            return new Page<>(sortedById, total, null, null);
+        }
+        if (query.getAfterId() != null) {
+            final int from = firstAfter(sortedById, id, query.getAfterId());
+            final int to = (int) Math.min(total, (long) from + query.getSize());
+            final String nextCursor = to < total ? PageQuery.encodeCursor(id.applyAsInt(sortedById.get(to - 1))) : null;
+            return new Page<>(sortedById.subList(from, to), total, null, nextCursor);
+        }
+        final long start = (long) query.getPage() * query.getSize();
+        final int from = (int) Math.min(total, start);
+        final int to = (int) Math.min(total, start + query.getSize());
+        return new Page<>(sortedById.subList(from, to), total, to < total ? query.getPage() + 1 : null, null);
+    }
+
+    private static <T> int firstAfter(final List<T> sortedById, final ToIntFunction<? super T> id,
+        final int afterId) {
+        int low = 0;
+        int high = sortedById.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (id.applyAsInt(sortedById.get(mid)) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,89 @@
+package com.audition.model;
+
+import com.audition.common.exception.SystemException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.Getter;
+
+/**
+ * Which slice of an id-ordered collection a client asked for: everything, a numbered page, or the items after a
+ * cursor returned with a previous page.
+ */
+@Getter
+public final class PageQuery {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String BAD_REQUEST = "Bad Request";
+    private static final String CURSOR_PREFIX = "id:";
+    private static final PageQuery UNPAGED = new PageQuery(null, Integer.MAX_VALUE, null);
+
+    /**
+     * Zero-based page number, or {@code null} when not paging by number.
+     */
+    private final Integer page;
+
+    private final int size;
+
+    /**
+     * Id of the last item already seen, or {@code null} when not paging by cursor.
+     */
+    private final Integer afterId;
+
+    private PageQuery(final Integer page, final int size, final Integer afterId) {
+        this.page = page;
+        this.size = size;
+        this.afterId = afterId;
+    }
+
+    public static PageQuery unpaged() {
+        return UNPAGED;
+    }
+
+    /**
+     * Builds a query from request parameters; all of them absent means the whole collection.
+     *
+     * @throws SystemException with status 400 if the parameters are out of range or conflict
+     */
+    public static PageQuery of(final Integer page, final Integer size, final String cursor) {
+        if (page == null && size == null && cursor == null) {
+            return UNPAGED;
+        }
+        if (page != null && cursor != null) {
+            throw new SystemException("Use either page or cursor, not both", BAD_REQUEST, 400);
+        }
+        if (page != null && page < 0) {
+            throw new SystemException("Page must not be negative", BAD_REQUEST, 400);
+        }
+        final int pageSize = size == null ? DEFAULT_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_SIZE) {
+            throw new SystemException("Size must be between 1 and " + MAX_SIZE, BAD_REQUEST, 400);
+        }
+        if (cursor != null) {
+            return new PageQuery(null, pageSize, decodeCursor(cursor));
+        }
+        return new PageQuery(page == null ? 0 : page, pageSize, null);
+    }
+
+    public boolean isPaged() {
+        return this != UNPAGED;
+    }
+
+    public static String encodeCursor(final int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Integer decodeCursor(final String cursor) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (final IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException; both mean the cursor was not one of ours.
+        }
+        throw new SystemException("Invalid cursor: " + cursor, BAD_REQUEST, 400);
+    }
+}
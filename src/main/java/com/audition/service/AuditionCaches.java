@@ -0,0 +1,41 @@
+package com.audition.service;
+
+import com.audition.common.cache.CoalescingCache;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * The caches sitting between {@link AuditionService} and the upstream API.
+ */
+@Getter
+public class AuditionCaches implements MeterBinder {
+
+    private final CoalescingCache<String, List<AuditionPost>> posts;
+    private final CoalescingCache<String, AuditionPost> post;
+    private final CoalescingCache<String, List<Comment>> comments;
+    private final CoalescingCache<String, AuditionPost> postWithComments;
+
+    public AuditionCaches(final AuditionCacheProperties properties) {
+        this.posts = create(properties.getPosts());
+        this.post = create(properties.getPost());
+        this.comments = create(properties.getComments());
+        this.postWithComments = create(properties.getPostWithComments());
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        posts.bindTo(registry, "audition.posts");
+        post.bindTo(registry, "audition.post");
+        comments.bindTo(registry, "audition.comments");
+        postWithComments.bindTo(registry, "audition.postWithComments");
+    }
+
+    private static <V> CoalescingCache<String, V> create(final AuditionCacheProperties.Spec spec) {
+        return new CoalescingCache<>(spec.getMaximumSize(), spec.getTimeToLive(), spec.getStaleTimeToLive());
+    }
+}
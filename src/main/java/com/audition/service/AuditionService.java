@@ -1,33 +1,390 @@
 package com.audition.service;
 
+import com.audition.common.cache.CacheOutcome;
+import com.audition.common.cache.RefreshingSnapshot;
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.configuration.UpstreamClientProperties;
 import com.audition.integration.AuditionIntegrationClient;
 import com.audition.model.AuditionPost;
 import java.util.List;
 
 import com.audition.model.Comment;
+import com.audition.model.Page;
+import com.audition.model.PageQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import lombok.AllArgsConstructor;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class AuditionService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuditionService.class);
+
+    private static final String ALL_CATEGORIES = "";
+
     private AuditionIntegrationClient auditionIntegrationClient;
 
+    private AuditionCaches auditionCaches;
+
+    private RefreshingSnapshot<PostIndex> postsSnapshot;
+
+    private RefreshingSnapshot<CommentIndex> commentsSnapshot;
+
+    private SnapshotProperties snapshotProperties;
+
+    @Qualifier("upstreamExecutor")
+    private ExecutorService upstreamExecutor;
+
+    private UpstreamClientProperties upstreamClientProperties;
+
+    private AuditionLogger auditionLogger;
+
     public List<AuditionPost> getPosts(String category) {
-        return auditionIntegrationClient.getPosts(category);
+        if (snapshotProperties.isEnabled()) {
+            return withFallback("posts", () -> postsSnapshot.get().findByCategory(category),
+                () -> postsSnapshot.lastKnown().map(index -> index.findByCategory(category)));
+        }
+        final String key = category == null ? ALL_CATEGORIES : category.toLowerCase(Locale.ROOT);
+        return withFallback("posts",
+            () -> auditionCaches.getPosts().get(key,
+                k -> sortedById(auditionIntegrationClient.getPosts(category), AuditionPost::getId)),
+            () -> auditionCaches.getPosts().peekStale(key));
+    }
+
+    /**
+     * Returns one page of the posts in a category, in ascending id order.
+     */
+    public Page<AuditionPost> getPosts(final String category, final PageQuery query) {
+        return Page.of(getPosts(category), AuditionPost::getId, query);
+    }
+
+    /**
+     * Hands the posts of a category to {@code sink} one at a time. Posts already held in the snapshot or cache are
+     * replayed from there; otherwise they are streamed from the upstream as they arrive, without being collected.
+     */
+    public void streamPosts(final String category, final Consumer<? super AuditionPost> sink) {
+        if (snapshotProperties.isEnabled()) {
+            getPosts(category).forEach(sink);
+            return;
+        }
+        final String key = category == null ? ALL_CATEGORIES : category.toLowerCase(Locale.ROOT);
+        final Optional<List<AuditionPost>> cached = auditionCaches.getPosts().peek(key);
+        if (cached.isPresent()) {
+            cached.get().forEach(sink);
+        } else {
+            auditionIntegrationClient.streamPosts(category, sink);
+        }
     }
 
     public AuditionPost getPostById(final String postId) {
-        return auditionIntegrationClient.getPostById(postId);
+        final Optional<AuditionPost> indexed = findInSnapshot(postId);
+        if (indexed.isPresent()) {
+            return indexed.get();
+        }
+        return withFallback("post " + postId,
+            () -> auditionCaches.getPost().get(postId, auditionIntegrationClient::getPostById),
+            () -> auditionCaches.getPost().peekStale(postId).or(() -> findInLastKnownSnapshot(postId)));
     }
 
     public List<Comment> getCommentsForPost(String postId) {
-        return auditionIntegrationClient.getCommentsForPost(postId);
+        if (preloadsComments()) {
+            return findCommentsInSnapshot(postId);
+        }
+        return withFallback("comments for post " + postId,
+            () -> auditionCaches.getComments().get(postId,
+                k -> sortedById(auditionIntegrationClient.getCommentsForPost(k), Comment::getId)),
+            () -> auditionCaches.getComments().peekStale(postId));
+    }
+
+    /**
+     * Returns one page of a post's comments, in ascending id order.
+     */
+    public Page<Comment> getCommentsForPost(final String postId, final PageQuery query) {
+        return Page.of(getCommentsForPost(postId), Comment::getId, query);
+    }
+
+    /**
+     * Hands the comments of a post to {@code sink} one at a time, from the cache if present and otherwise straight
+     * from the upstream as they arrive.
+     */
+    public void streamCommentsForPost(final String postId, final Consumer<? super Comment> sink) {
+        if (preloadsComments()) {
+            findCommentsInSnapshot(postId).forEach(sink);
+            return;
+        }
+        final Optional<List<Comment>> cached = auditionCaches.getComments().peek(postId);
+        if (cached.isPresent()) {
+            cached.get().forEach(sink);
+        } else {
+            auditionIntegrationClient.streamCommentsForPost(postId, sink);
+        }
     }
 
     public AuditionPost getPostWithComments(String postId) {
-        return auditionIntegrationClient.getPostWithComments(postId);
+        if (preloadsComments()) {
+            // Joined in memory: the post comes from the posts snapshot or cache, the comments from the index.
+            return getPostById(postId).withComments(findCommentsInSnapshot(postId));
+        }
+        return withFallback("post with comments " + postId,
+            () -> auditionCaches.getPostWithComments().get(postId, auditionIntegrationClient::getPostWithComments),
+            () -> auditionCaches.getPostWithComments().peekStale(postId));
+    }
+
+    /**
+     * Fetches many posts, optionally with their comments, in one call.
+     *
+     * <p>Duplicate IDs are collapsed and results keep the order in which IDs were first requested. Posts that do not
+     * exist are left out. Uncached posts are fetched concurrently, bounded per batch, while the comments of every
+     * uncached post are fetched with a single upstream query. If any fetch fails, the others are cancelled.</p>
+     *
+     * @param postIds         the requested post IDs
+     * @param includeComments whether to attach each post's comments
+     * @return the posts that were found
+     */
+    public List<AuditionPost> getPostsBatch(final List<String> postIds, final boolean includeComments) {
+        final Set<Integer> ids = parseBatchIds(postIds);
+
+        final Future<Map<Integer, List<Comment>>> commentsFuture = includeComments
+            ? submit(() -> getCommentsForPosts(ids))
+            : null;
+        final Map<Integer, AuditionPost> posts;
+        final Map<Integer, List<Comment>> comments;
+        try {
+            posts = getPostsById(ids);
+            comments = commentsFuture == null ? Map.of() : await(commentsFuture);
+        } finally {
+            // Stops the comments query if the posts failed; a no-op once it is done.
+            if (commentsFuture != null) {
+                commentsFuture.cancel(true);
+            }
+        }
+
+        final List<AuditionPost> result = new ArrayList<>(posts.size());
+        for (final Integer id : ids) {
+            final AuditionPost post = posts.get(id);
+            if (post != null) {
+                result.add(includeComments ? post.withComments(comments.getOrDefault(id, List.of())) : post);
+            }
+        }
+        return result;
+    }
+
+    private Set<Integer> parseBatchIds(final List<String> postIds) {
+        final Set<Integer> ids = new LinkedHashSet<>();
+        for (final String postId : postIds) {
+            try {
+                ids.add(Integer.parseInt(postId.trim()));
+            } catch (final NumberFormatException e) {
+                throw new SystemException("Post ID must be numeric: " + postId, "Bad Request", 400);
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new SystemException("At least one post ID must be requested", "Bad Request", 400);
+        }
+        if (ids.size() > upstreamClientProperties.getMaxBatchSize()) {
+            throw new SystemException("At most " + upstreamClientProperties.getMaxBatchSize()
+                + " post IDs may be requested at once", "Bad Request", 400);
+        }
+        return ids;
+    }
+
+    private Map<Integer, AuditionPost> getPostsById(final Set<Integer> ids) {
+        final Map<Integer, AuditionPost> posts = new ConcurrentHashMap<>();
+        final Semaphore permits = new Semaphore(upstreamClientProperties.getBatchParallelism());
+        final List<Future<Object>> fetches = new ArrayList<>();
+        try {
+            for (final Integer id : ids) {
+                final Optional<AuditionPost> indexed = findInSnapshot(id);
+                if (indexed.isPresent()) {
+                    posts.put(id, indexed.get());
+                    continue;
+                }
+                permits.acquireUninterruptibly();
+                try {
+                    fetches.add(submit(() -> {
+                        try {
+                            findPost(id).ifPresent(post -> posts.put(id, post));
+                            return null;
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                } catch (final SystemException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+            fetches.forEach(AuditionService::await);
+        } finally {
+            fetches.forEach(fetch -> fetch.cancel(true));
+        }
+        return posts;
+    }
+
+    private Optional<AuditionPost> findPost(final Integer id) {
+        try {
+            return Optional.of(getPostById(String.valueOf(id)));
+        } catch (final SystemException e) {
+            if (Integer.valueOf(404).equals(e.getStatusCode())) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    private Map<Integer, List<Comment>> getCommentsForPosts(final Set<Integer> ids) {
+        final Map<Integer, List<Comment>> comments = new HashMap<>();
+        if (preloadsComments()) {
+            final CommentIndex index = withFallback("comments", commentsSnapshot::get, commentsSnapshot::lastKnown);
+            for (final Integer id : ids) {
+                comments.put(id, index.findByPostId(id));
+            }
+            return comments;
+        }
+        final List<Integer> uncached = new ArrayList<>();
+        for (final Integer id : ids) {
+            final Optional<List<Comment>> cached = auditionCaches.getComments().peek(String.valueOf(id));
+            if (cached.isPresent()) {
+                comments.put(id, cached.get());
+            } else {
+                uncached.add(id);
+            }
+        }
+        final Map<Integer, List<Comment>> fetched;
+        try {
+            fetched = auditionIntegrationClient.getCommentsForPosts(uncached);
+        } catch (final UpstreamUnavailableException e) {
+            for (final Integer id : uncached) {
+                comments.put(id, auditionCaches.getComments().peekStale(String.valueOf(id)).orElseThrow(() -> e));
+            }
+            CacheOutcome.stale();
+            auditionLogger.warn(logger, "Serving stale comments for {} posts: {}", uncached.size(), e.getMessage());
+            return comments;
+        }
+        for (final Integer id : uncached) {
+            final List<Comment> postComments = sortedById(fetched.getOrDefault(id, List.of()), Comment::getId);
+            auditionCaches.getComments().put(String.valueOf(id), postComments);
+            comments.put(id, postComments);
+        }
+        return comments;
+    }
+
+    private static <T> List<T> sortedById(final List<T> items, final ToIntFunction<? super T> id) {
+        final List<T> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparingInt(id));
+        return List.copyOf(sorted);
+    }
+
+    private Optional<AuditionPost> findInSnapshot(final String postId) {
+        try {
+            return findInSnapshot(Integer.parseInt(postId));
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Optional<AuditionPost> findInSnapshot(final int id) {
+        if (!snapshotProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        return postsSnapshot.peek().flatMap(index -> index.findById(id));
+    }
+
+    private boolean preloadsComments() {
+        return snapshotProperties.isEnabled() && snapshotProperties.isPreloadComments();
+    }
+
+    private List<Comment> findCommentsInSnapshot(final String postId) {
+        final int id;
+        try {
+            id = Integer.parseInt(postId);
+        } catch (final NumberFormatException e) {
+            return List.of();
+        }
+        return withFallback("comments for post " + postId, () -> commentsSnapshot.get().findByPostId(id),
+            () -> commentsSnapshot.lastKnown().map(index -> index.findByPostId(id)));
+    }
+
+    private Optional<AuditionPost> findInLastKnownSnapshot(final String postId) {
+        if (!snapshotProperties.isEnabled()) {
+            return Optional.empty();
+        }
+        try {
+            final int id = Integer.parseInt(postId);
+            return postsSnapshot.lastKnown().flatMap(index -> index.findById(id));
+        } catch (final NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Runs {@code call}, serving previously fetched data from {@code fallback} if the upstream is unavailable. The
+     * original failure is rethrown when there is nothing to fall back to.
+     */
+    private <T> T withFallback(final String what, final Supplier<T> call, final Supplier<Optional<T>> fallback) {
+        try {
+            return call.get();
+        } catch (final UpstreamUnavailableException e) {
+            final Optional<T> stale = fallback.get();
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            CacheOutcome.stale();
+            auditionLogger.warn(logger, "Serving stale {}: {}", what, e.getMessage());
+            return stale.get();
+        }
+    }
+
+    /**
+     * Hands work to the upstream executor, answering 503 when it is saturated instead of running it on this thread.
+     * Cache outcomes the task records count towards the current request.
+     */
+    private <T> Future<T> submit(final Supplier<T> task) {
+        final Supplier<T> inRequest = CacheOutcome.propagate(task);
+        final Callable<T> callable = inRequest::get;
+        try {
+            return upstreamExecutor.submit(callable);
+        } catch (final RejectedExecutionException e) {
+            throw new SystemException("Too many concurrent upstream fetches, please retry shortly",
+                "Service Unavailable", 503, e);
+        }
+    }
+
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SystemException("An error occurred: " + e.getCause().getMessage(), e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SystemException("Interrupted waiting for upstream fetches", e);
+        }
     }
 }
@@ -0,0 +1,81 @@
+package com.audition.service;
+
+import com.audition.model.Comment;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable index of the complete upstream comment collection, grouped by post.
+ *
+ * <p>Post ids are held in a sorted {@code int[]} and looked up by binary search, next to the comments of each post,
+ * so neither building nor querying the index boxes a key. Returned lists are unmodifiable, ordered by comment id and
+ * shared between callers.</p>
+ */
+public final class CommentIndex {
+
+    private static final CommentIndex EMPTY = new CommentIndex(new int[0], List.of(), 0);
+
+    private final int[] postIds;
+    private final List<List<Comment>> comments;
+    private final int size;
+
+    private CommentIndex(final int[] postIds, final List<List<Comment>> comments, final int size) {
+        this.postIds = postIds;
+        this.comments = comments;
+        this.size = size;
+    }
+
+    public static CommentIndex of(final List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return EMPTY;
+        }
+        final Comment[] sorted = comments.toArray(new Comment[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(Comment::getPostId).thenComparingInt(Comment::getId));
+
+        final int[] postIds = new int[sorted.length];
+        final List<List<Comment>> grouped = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= sorted.length; i++) {
+            if (i == sorted.length || sorted[i].getPostId() != sorted[start].getPostId()) {
+                postIds[grouped.size()] = sorted[start].getPostId();
+                grouped.add(List.of(Arrays.copyOfRange(sorted, start, i)));
+                start = i;
+            }
+        }
+        return new CommentIndex(Arrays.copyOf(postIds, grouped.size()), List.copyOf(grouped), sorted.length);
+    }
+
+    /**
+     * Returns the comments of a post, or an empty list if it has none.
+     */
+    public List<Comment> findByPostId(final int postId) {
+        final int position = Arrays.binarySearch(postIds, postId);
+        return position < 0 ? List.of() : comments.get(position);
+    }
+
+    /**
+     * Hands the comments of each post that has any to {@code action}, in ascending post id order.
+     */
+    public void forEachPost(final ObjIntConsumer<List<Comment>> action) {
+        for (int i = 0; i < postIds.length; i++) {
+            action.accept(comments.get(i), postIds[i]);
+        }
+    }
+
+    /**
+     * Returns the number of posts that have comments.
+     */
+    public int postCount() {
+        return postIds.length;
+    }
+
+    /**
+     * Returns the total number of comments.
+     */
+    public int size() {
+        return size;
+    }
+}
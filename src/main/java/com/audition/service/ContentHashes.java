@@ -0,0 +1,98 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+
+/**
+ * 64-bit content hashes of posts and comments, used to derive strong ETags without serializing the response.
+ *
+ * <p>Posts are immutable and cached and snapshot posts are shared between requests, so the hash of each post is
+ * computed once and remembered against that instance; hashing a list then only combines the remembered hashes of its
+ * items.</p>
+ */
+public final class ContentHashes {
+
+    private static final long SEED = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    // Weak keys compare by identity, so an entry lives exactly as long as the post it describes.
+    private static final Cache<AuditionPost, Long> POST_HASHES = Caffeine.newBuilder()
+        .weakKeys()
+        .maximumSize(100_000)
+        .build();
+
+    private ContentHashes() {
+    }
+
+    /**
+     * Hashes a post, a comment, or a list of either, in order. Anything else hashes by its string form.
+     */
+    public static long of(final Object value) {
+        if (value instanceof AuditionPost post) {
+            return POST_HASHES.get(post, ContentHashes::hashPost);
+        }
+        if (value instanceof Comment comment) {
+            return hashComment(comment);
+        }
+        if (value instanceof List<?> items) {
+            long hash = combine(SEED, items.size());
+            for (final Object item : items) {
+                hash = combine(hash, of(item));
+            }
+            return finish(hash);
+        }
+        return value == null ? 0 : hashString(SEED, value.toString());
+    }
+
+    /**
+     * Mixes {@code value} into {@code hash}.
+     */
+    public static long combine(final long hash, final long value) {
+        return (hash ^ value) * PRIME;
+    }
+
+    private static long hashPost(final AuditionPost post) {
+        long hash = combine(SEED, post.getId());
+        hash = combine(hash, post.getUserId());
+        hash = hashString(hash, post.getTitle());
+        hash = hashString(hash, post.getBody());
+        hash = hashString(hash, post.getCategory());
+        final List<Comment> comments = post.getComments();
+        hash = combine(hash, comments == null ? -1 : of(comments));
+        return finish(hash);
+    }
+
+    private static long hashComment(final Comment comment) {
+        long hash = combine(SEED, comment.getId());
+        hash = combine(hash, comment.getPostId());
+        hash = hashString(hash, comment.getName());
+        hash = hashString(hash, comment.getEmail());
+        hash = hashString(hash, comment.getBody());
+        return finish(hash);
+    }
+
+    private static long hashString(final long seed, final String value) {
+        if (value == null) {
+            return combine(seed, -1);
+        }
+        long hash = combine(seed, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            hash = combine(hash, value.charAt(i));
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finalizer, so that small input differences spread over all 64 bits.
+    private static long finish(final long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
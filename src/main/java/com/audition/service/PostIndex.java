@@ -0,0 +1,89 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Immutable lookup structure over one snapshot of the upstream posts.
+ *
+ * <p>Built once per snapshot so that category, id and user lookups are answered without rescanning the
+ * collection. All returned lists are unmodifiable, shared between callers and ordered by post id, so that pages cut
+ * from them are stable.</p>
+ */
+public final class PostIndex {
+
+    private static final PostIndex EMPTY = new PostIndex(List.of());
+
+    private final List<AuditionPost> posts;
+    private final Map<String, List<AuditionPost>> byCategory;
+    private final Map<Integer, AuditionPost> byId;
+    private final Map<Integer, List<AuditionPost>> byUserId;
+
+    private PostIndex(final List<AuditionPost> posts) {
+        final List<AuditionPost> sorted = new ArrayList<>(posts);
+        sorted.sort(Comparator.comparingInt(AuditionPost::getId));
+        this.posts = List.copyOf(sorted);
+        this.byCategory = group(this.posts, post -> normalize(post.getCategory()));
+        this.byUserId = group(this.posts, AuditionPost::getUserId);
+        final Map<Integer, AuditionPost> ids = new HashMap<>(this.posts.size() * 2);
+        for (final AuditionPost post : this.posts) {
+            ids.putIfAbsent(post.getId(), post);
+        }
+        this.byId = Map.copyOf(ids);
+    }
+
+    public static PostIndex of(final List<AuditionPost> posts) {
+        return posts.isEmpty() ? EMPTY : new PostIndex(posts);
+    }
+
+    public List<AuditionPost> all() {
+        return posts;
+    }
+
+    /**
+     * Returns the posts in the given category, ignoring case, or every post when no category is given.
+     */
+    public List<AuditionPost> findByCategory(final String category) {
+        if (category == null || category.isEmpty()) {
+            return posts;
+        }
+        return byCategory.getOrDefault(normalize(category), List.of());
+    }
+
+    public Optional<AuditionPost> findById(final int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public List<AuditionPost> findByUserId(final int userId) {
+        return byUserId.getOrDefault(userId, List.of());
+    }
+
+    public int size() {
+        return posts.size();
+    }
+
+    private static <K> Map<K, List<AuditionPost>> group(final List<AuditionPost> posts,
+        final Function<AuditionPost, K> classifier) {
+        final Map<K, List<AuditionPost>> groups = new HashMap<>();
+        for (final AuditionPost post : posts) {
+            final K key = classifier.apply(post);
+            if (key != null) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(post);
+            }
+        }
+        final Map<K, List<AuditionPost>> frozen = new HashMap<>(groups.size() * 2);
+        groups.forEach((key, group) -> frozen.put(key, List.copyOf(group)));
+        return Map.copyOf(frozen);
+    }
+
+    private static String normalize(final String category) {
+        return category == null ? null : category.toLowerCase(Locale.ROOT);
+    }
+}
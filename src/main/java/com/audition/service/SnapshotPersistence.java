@@ -0,0 +1,101 @@
+package com.audition.service;
+
+import com.audition.common.cache.RefreshingSnapshot;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.model.Comment;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Restores the posts snapshot and the known comments from the {@link SnapshotStore} on startup, and saves them again
+ * after every successful refresh.
+ *
+ * <p>Restoring happens before the application reports ready, so a restarted instance serves the last known data, as
+ * stale, without waiting for the upstream. Restored comments seed the comments snapshot when comments are preloaded
+ * and the saved comments were complete, i.e. came from the comments snapshot; otherwise they are only used as a
+ * fallback while the upstream is unavailable. Saves run on the snapshot refresh
+ * thread, never on a request thread.</p>
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "audition.snapshot.store", name = "enabled", matchIfMissing = true)
+public class SnapshotPersistence {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotPersistence.class);
+
+    private final SnapshotStore snapshotStore;
+
+    private final RefreshingSnapshot<PostIndex> postsSnapshot;
+
+    private final RefreshingSnapshot<CommentIndex> commentsSnapshot;
+
+    private final AuditionCaches auditionCaches;
+
+    private final SnapshotProperties snapshotProperties;
+
+    private final ExecutorService snapshotRefreshExecutor;
+
+    private final AuditionLogger auditionLogger;
+
+    @PostConstruct
+    public void restore() {
+        if (!snapshotProperties.isEnabled()) {
+            return;
+        }
+        load().ifPresent(contents -> {
+            postsSnapshot.restore(PostIndex.of(contents.posts()), contents.postsFetchedAt());
+            contents.comments().forEach(auditionCaches.getComments()::putStale);
+            // Comments saved before the first bulk load are only those that happened to be read, not all of them.
+            if (snapshotProperties.isPreloadComments() && contents.commentsComplete()) {
+                final List<Comment> comments = new ArrayList<>();
+                contents.comments().values().forEach(comments::addAll);
+                commentsSnapshot.restore(CommentIndex.of(comments), contents.commentsFetchedAt());
+            }
+            auditionLogger.info(logger, "Restored {} posts fetched at {} and comments for {} posts",
+                contents.posts().size(), contents.postsFetchedAt(), contents.comments().size());
+        });
+        postsSnapshot.onRefresh(index -> snapshotRefreshExecutor.execute(this::save));
+        commentsSnapshot.onRefresh(index -> snapshotRefreshExecutor.execute(this::save));
+    }
+
+    void save() {
+        // Times are read before the data, so a refresh in between makes the data look older rather than newer.
+        final Optional<Instant> postsFetchedAt = postsSnapshot.lastKnownAt();
+        final Optional<PostIndex> posts = postsSnapshot.lastKnown();
+        if (posts.isEmpty() || postsFetchedAt.isEmpty()) {
+            return;
+        }
+        final Map<String, List<Comment>> comments = auditionCaches.getComments().retained();
+        final Instant commentsFetchedAt = commentsSnapshot.lastKnownAt().orElse(null);
+        final Optional<CommentIndex> allComments = commentsSnapshot.lastKnown();
+        allComments.ifPresent(index -> index.forEachPost(
+            (postComments, postId) -> comments.put(String.valueOf(postId), postComments)));
+        try {
+            snapshotStore.save(posts.get().all(), postsFetchedAt.get(), comments,
+                allComments.isPresent() ? commentsFetchedAt : null);
+        } catch (final IOException e) {
+            auditionLogger.warn(logger, "Could not save snapshot to {}: {}", snapshotStore.getPath(), e.toString());
+        }
+    }
+
+    private Optional<SnapshotStore.Contents> load() {
+        try {
+            return snapshotStore.load();
+        } catch (final IOException e) {
+            auditionLogger.warn(logger, "Ignoring unreadable snapshot {}: {}", snapshotStore.getPath(), e.toString());
+            return Optional.empty();
+        }
+    }
+}
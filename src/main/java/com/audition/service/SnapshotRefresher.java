@@ -0,0 +1,51 @@
+package com.audition.service;
+
+import com.audition.common.cache.RefreshingSnapshot;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.SnapshotProperties;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the upstream snapshots warm by refreshing them in the background on a fixed schedule.
+ */
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "audition.snapshot", name = "enabled", matchIfMissing = true)
+public class SnapshotRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRefresher.class);
+
+    private final RefreshingSnapshot<PostIndex> postsSnapshot;
+
+    private final RefreshingSnapshot<CommentIndex> commentsSnapshot;
+
+    private final SnapshotProperties snapshotProperties;
+
+    private final AuditionLogger auditionLogger;
+
+    @Scheduled(fixedDelayString = "${audition.snapshot.refresh-interval:PT1M}")
+    public void refreshPosts() {
+        refresh(postsSnapshot);
+    }
+
+    @Scheduled(fixedDelayString = "${audition.snapshot.refresh-interval:PT1M}")
+    public void refreshComments() {
+        if (snapshotProperties.isPreloadComments()) {
+            refresh(commentsSnapshot);
+        }
+    }
+
+    private void refresh(final RefreshingSnapshot<?> snapshot) {
+        snapshot.refreshAsync().whenComplete((value, e) -> {
+            if (e != null) {
+                auditionLogger.warn(logger, "Background refresh of {} snapshot failed, serving previous snapshot: {}",
+                    snapshot.getName(), e.getMessage());
+            }
+        });
+    }
+}
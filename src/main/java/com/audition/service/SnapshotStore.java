@@ -0,0 +1,266 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps a copy of the posts snapshot and the known comments on local disk, so that a restarted instance can serve
+ * them before the upstream has been reached.
+ *
+ * <p>The file is a compact binary encoding followed by a CRC32 of its contents. It is written to a temporary file
+ * that is synced and then atomically moved into place, so readers only ever see a complete file: the previous one or
+ * the new one. A file that is truncated, corrupt or of another format version is ignored.</p>
+ *
+ * <p>The comments are either complete, i.e. every comment of every post as loaded by a bulk comments refresh, or only
+ * those of the posts that happened to be read. Only complete comments can stand in for the bulk comments snapshot.</p>
+ *
+ * <p>Posts and comments that encode to the same bytes as the last save are not written again, so refreshes that bring
+ * no changes cost an in-memory checksum rather than a file sync. The file then keeps the times its data was first
+ * fetched at.</p>
+ */
+public class SnapshotStore {
+
+    private static final int MAGIC = 0x41554453;
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+
+    private long savedContentChecksum = -1;
+
+    public SnapshotStore(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Replaces the stored snapshot, unless it already holds the same posts and comments.
+     *
+     * @param posts             every post, without comments
+     * @param postsFetchedAt    when {@code posts} were fetched from the upstream
+     * @param comments          the comments known for each post, keyed by post id
+     * @param commentsFetchedAt when {@code comments} were fetched from the upstream if they hold every comment of every
+     *                          post, otherwise {@code null}
+     * @return whether the file was written
+     */
+    public synchronized boolean save(final List<AuditionPost> posts, final Instant postsFetchedAt,
+        final Map<String, List<Comment>> comments, final Instant commentsFetchedAt) throws IOException {
+        final boolean commentsComplete = commentsFetchedAt != null;
+        final long contentChecksum = contentChecksum(posts, comments, commentsComplete);
+        if (contentChecksum == savedContentChecksum && Files.exists(path)) {
+            return false;
+        }
+        final Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                final CRC32 crc = new CRC32();
+                final DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), crc));
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(postsFetchedAt.toEpochMilli());
+                writePosts(out, posts);
+                writeComments(out, comments);
+                out.writeBoolean(commentsComplete);
+                if (commentsComplete) {
+                    out.writeLong(commentsFetchedAt.toEpochMilli());
+                }
+                out.writeLong(crc.getValue());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        savedContentChecksum = contentChecksum;
+        return true;
+    }
+
+    /**
+     * Reads the stored snapshot.
+     *
+     * @return the snapshot, or empty if none has been saved
+     * @throws IOException if the file cannot be read or is not a complete snapshot
+     */
+    public Optional<Contents> load() throws IOException {
+        final long size;
+        try {
+            size = Files.size(path);
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        }
+        try (InputStream file = Files.newInputStream(path)) {
+            final CRC32 crc = new CRC32();
+            final DataInputStream in = new DataInputStream(
+                new CheckedInputStream(new BufferedInputStream(file, BUFFER_SIZE), crc));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file: " + path);
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + path);
+            }
+            final Instant postsFetchedAt = Instant.ofEpochMilli(in.readLong());
+            final List<AuditionPost> posts = readPosts(in, size);
+            final Map<String, List<Comment>> comments = readComments(in, size);
+            final Instant commentsFetchedAt = in.readBoolean() ? Instant.ofEpochMilli(in.readLong()) : null;
+            final long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return Optional.of(new Contents(posts, postsFetchedAt, comments, commentsFetchedAt));
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private static long contentChecksum(final List<AuditionPost> posts, final Map<String, List<Comment>> comments,
+        final boolean commentsComplete) throws IOException {
+        final CRC32 crc = new CRC32();
+        final DataOutputStream out = new DataOutputStream(
+            new CheckedOutputStream(OutputStream.nullOutputStream(), crc));
+        writePosts(out, posts);
+        writeComments(out, comments);
+        out.writeBoolean(commentsComplete);
+        return crc.getValue();
+    }
+
+    private static void writePosts(final DataOutputStream out, final List<AuditionPost> posts) throws IOException {
+        out.writeInt(posts.size());
+        for (final AuditionPost post : posts) {
+            out.writeInt(post.getUserId());
+            out.writeInt(post.getId());
+            writeString(out, post.getTitle());
+            writeString(out, post.getBody());
+            writeString(out, post.getCategory());
+        }
+    }
+
+    private static void writeComments(final DataOutputStream out, final Map<String, List<Comment>> comments)
+        throws IOException {
+        out.writeInt(comments.size());
+        for (final Map.Entry<String, List<Comment>> entry : comments.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (final Comment comment : entry.getValue()) {
+                out.writeInt(comment.getId());
+                out.writeInt(comment.getPostId());
+                writeString(out, comment.getName());
+                writeString(out, comment.getEmail());
+                writeString(out, comment.getBody());
+            }
+        }
+    }
+
+    private static List<AuditionPost> readPosts(final DataInputStream in, final long size) throws IOException {
+        final int count = readCount(in, size);
+        final List<AuditionPost> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int userId = in.readInt();
+            final int id = in.readInt();
+            posts.add(new AuditionPost(userId, id, readString(in, size), readString(in, size), readString(in, size),
+                null));
+        }
+        return posts;
+    }
+
+    private static Map<String, List<Comment>> readComments(final DataInputStream in, final long size)
+        throws IOException {
+        final int groups = readCount(in, size);
+        final Map<String, List<Comment>> comments = new HashMap<>(groups * 2);
+        for (int i = 0; i < groups; i++) {
+            final String key = readString(in, size);
+            final int count = readCount(in, size);
+            final List<Comment> postComments = new ArrayList<>(count);
+            for (int j = 0; j < count; j++) {
+                final int id = in.readInt();
+                final int postId = in.readInt();
+                postComments.add(new Comment(id, postId, readString(in, size), readString(in, size),
+                    readString(in, size)));
+            }
+            comments.put(key, List.copyOf(postComments));
+        }
+        return comments;
+    }
+
+    // Strings are length-prefixed UTF-8, with -1 for null; unlike writeUTF this has no 64 KB limit.
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in, final long size) throws IOException {
+        final int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > size) {
+            throw new IOException("Corrupt snapshot: string of " + length + " bytes");
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Bounds counts by the file size, so a corrupt count fails instead of allocating a huge list.
+    private static int readCount(final DataInputStream in, final long size) throws IOException {
+        final int count = in.readInt();
+        if (count < 0 || count > size) {
+            throw new IOException("Corrupt snapshot: count of " + count);
+        }
+        return count;
+    }
+
+    /**
+     * A snapshot read back from disk.
+     *
+     * @param posts             every post, without comments
+     * @param postsFetchedAt    when {@code posts} were fetched from the upstream
+     * @param comments          the comments known for each post, keyed by post id
+     * @param commentsFetchedAt when {@code comments} were fetched from the upstream if they hold every comment of every
+     *                          post, otherwise {@code null}
+     */
+    public record Contents(List<AuditionPost> posts, Instant postsFetchedAt, Map<String, List<Comment>> comments,
+        Instant commentsFetchedAt) {
+
+        /**
+         * Whether {@link #comments()} holds every comment of every post.
+         */
+        public boolean commentsComplete() {
+            return commentsFetchedAt != null;
+        }
+    }
+}
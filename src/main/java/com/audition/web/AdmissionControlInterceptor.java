@@ -0,0 +1,113 @@
+package com.audition.web;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.AdmissionProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Admits requests through a {@link ConcurrencyLimiter} and fails the rest fast with a 503, instead of letting them
+ * queue behind a saturated service until they time out.
+ *
+ * <p>Each request mapping gets the {@link AdmissionPriority} configured for its pattern, so that cheap lookups such as
+ * {@code /posts/{id}} keep being served while listings are turned away. A streamed response holds its permit until
+ * the async dispatch that writes it completes.</p>
+ *
+ * <p>Only the service's own state feeds back into the limit: how long admitted requests took, and requests
+ * {@link #markOverloaded marked} as having found a local resource saturated. Requests that fail fast because the
+ * upstream is unavailable say nothing about this service's capacity and leave the limit alone.</p>
+ *
+ * <p>The limit, requests in flight and rejections per priority are exported as {@code audition.admission.*}.</p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "audition.admission", name = "enabled")
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+    private static final String STARTED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".STARTED";
+    private static final String OVERLOADED_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".OVERLOADED";
+
+    private final ConcurrencyLimiter limiter;
+    private final Map<String, AdmissionPriority> priorities;
+    private final Map<AdmissionPriority, LongAdder> rejected = new EnumMap<>(AdmissionPriority.class);
+
+    public AdmissionControlInterceptor(final AdmissionProperties properties) {
+        this.limiter = new ConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+            properties.getMaxLimit(), properties.getMaxLatency(), properties.getBackoffRatio());
+        this.priorities = Map.copyOf(properties.getPriorities());
+        for (final AdmissionPriority priority : AdmissionPriority.values()) {
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response,
+        final Object handler) {
+        if (request.getAttribute(STARTED_ATTRIBUTE) != null) {
+            // Async dispatch of a request that was admitted on its first dispatch.
+            return true;
+        }
+        final AdmissionPriority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            throw new SystemException("Too many concurrent requests, please retry shortly",
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(), HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+        request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+        final Object handler, final Exception ex) {
+        final Object started = request.getAttribute(STARTED_ATTRIBUTE);
+        if (started == null) {
+            return;
+        }
+        request.removeAttribute(STARTED_ATTRIBUTE);
+        limiter.release((Long) started, request.getAttribute(OVERLOADED_ATTRIBUTE) != null);
+    }
+
+    /**
+     * Records that {@code request} failed because a resource of this service, such as a thread pool, was saturated,
+     * so that the concurrency limit backs off.
+     */
+    public static void markOverloaded(final HttpServletRequest request) {
+        request.setAttribute(OVERLOADED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder("audition.admission.limit", limiter, ConcurrencyLimiter::getLimit)
+            .description("Current adaptive concurrency limit")
+            .register(registry);
+        Gauge.builder("audition.admission.inflight", limiter, ConcurrencyLimiter::getInFlight)
+            .description("Admitted requests in flight")
+            .register(registry);
+        rejected.forEach((priority, count) ->
+            FunctionCounter.builder("audition.admission.rejected", count, LongAdder::doubleValue)
+                .description("Requests turned away with a 503 at the concurrency limit")
+                .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    }
+
+    private AdmissionPriority priorityOf(final HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? AdmissionPriority.NORMAL
+            : priorities.getOrDefault(pattern.toString(), AdmissionPriority.NORMAL);
+    }
+}
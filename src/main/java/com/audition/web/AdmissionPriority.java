@@ -0,0 +1,25 @@
+package com.audition.web;
+
+/**
+ * How much of the concurrency limit requests to an endpoint may use. Lower priorities are turned away first as the
+ * limit fills up, leaving the remainder to higher ones.
+ */
+public enum AdmissionPriority {
+
+    HIGH(1.0),
+    NORMAL(0.8),
+    LOW(0.5);
+
+    private final double share;
+
+    AdmissionPriority(final double share) {
+        this.share = share;
+    }
+
+    /**
+     * The part of {@code limit} requests of this priority are admitted into, at least one.
+     */
+    int capacity(final int limit) {
+        return Math.max(1, (int) (limit * share));
+    }
+}
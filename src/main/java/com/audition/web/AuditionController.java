@@ -3,7 +3,10 @@ package com.audition.web;
 import com.audition.common.logging.AuditionLogger;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.Page;
+import com.audition.model.PageQuery;
 import com.audition.service.AuditionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -11,58 +14,168 @@ import org.slf4j.Logger;
 
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
+@ConditionalOnProperty(prefix = "audition.api.client", name = "mode", havingValue = "blocking", matchIfMissing = true)
 public class AuditionController {
 
     private final AuditionService auditionService;
 
     private final AuditionLogger auditionLogger;
 
+    private final ObjectMapper objectMapper;
+
     private static final Logger logger = LoggerFactory.getLogger(AuditionController.class);
 
+    private static final String INCLUDE_COMMENTS = "comments";
+
+    static final String STREAM_PARAM = "stream=true";
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Lists posts in ascending id order. Without {@code page}, {@code size} or {@code cursor} every post is returned;
+     * otherwise one page, with the total and the next page or cursor in response headers. {@code fields} limits the
+     * properties written for each post.
+     */
     @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<AuditionPost> getPosts(@RequestParam(required = false) String category) {
+    public ResponseEntity<List<AuditionPost>> getPosts(@RequestParam(required = false) String category,
+        @RequestParam(required = false) final Integer page, @RequestParam(required = false) final Integer size,
+        @RequestParam(required = false) final String cursor) {
 
-        auditionLogger.info(logger, "Fetching posts with category: " + category);
-        List<AuditionPost> posts = auditionService.getPosts(category);
-        auditionLogger.info(logger, "Fetched " + posts.size() + " posts");
-        return posts;
+        auditionLogger.info(logger, "Fetching posts with category: {}", category);
+        Page<AuditionPost> posts = auditionService.getPosts(category, PageQuery.of(page, size, cursor));
+        auditionLogger.info(logger, "Fetched {} of {} posts", posts.getItems().size(), posts.getTotalElements());
+        return toResponse(posts);
+    }
+
+    /**
+     * Streams posts as newline-delimited JSON, writing each post as soon as it is available.
+     */
+    @RequestMapping(value = "/posts", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPosts(@RequestParam(required = false) final String category,
+        @RequestParam(required = false) final String fields) {
+
+        auditionLogger.info(logger, "Streaming posts with category: {}", category);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+            .body(JsonStreaming.<AuditionPost>ndjson(JsonStreaming.writerFor(objectMapper, AuditionPost.class, fields),
+                sink -> auditionService.streamPosts(category, sink)));
+    }
+
+    /**
+     * Streams posts as a single JSON array written in chunks, for clients that cannot read newline-delimited JSON.
+     */
+    @RequestMapping(value = "/posts", method = RequestMethod.GET, params = STREAM_PARAM,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamPostsAsArray(
+        @RequestParam(required = false) final String category, @RequestParam(required = false) final String fields) {
+
+        auditionLogger.info(logger, "Streaming posts as array with category: {}", category);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(JsonStreaming.<AuditionPost>jsonArray(
+                JsonStreaming.writerFor(objectMapper, AuditionPost.class, fields),
+                sink -> auditionService.streamPosts(category, sink)));
+    }
+
+    @RequestMapping(value = "/posts/batch", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AuditionPost>> getPostsBatch(@RequestParam("ids") final List<String> postIds,
+        @RequestParam(value = "include", required = false) final String include) {
+
+        final boolean includeComments = INCLUDE_COMMENTS.equalsIgnoreCase(include);
+        auditionLogger.info(logger, "Fetching batch of {} posts, include: {}", postIds.size(), include);
+        List<AuditionPost> posts = auditionService.getPostsBatch(postIds, includeComments);
+        auditionLogger.info(logger, "Fetched {} posts in batch", posts.size());
+        return ResponseEntity.ok().eTag(ETags.of(posts)).body(posts);
     }
 
     @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody AuditionPost getPost(@PathVariable("id") final String postId) {
+    public ResponseEntity<AuditionPost> getPost(@PathVariable("id") final String postId) {
 
         if (postId == null || postId.trim().isEmpty()) {
             throw new IllegalArgumentException("Post ID must not be null or empty");
         }
-        auditionLogger.info(logger, "Fetching post with ID: " + postId);
+        auditionLogger.info(logger, "Fetching post with ID: {}", postId);
         AuditionPost post = auditionService.getPostById(postId);
-        auditionLogger.info(logger, "Fetched post with ID: " + postId);
-        return post;
+        auditionLogger.info(logger, "Fetched post with ID: {}", postId);
+        return ResponseEntity.ok().eTag(ETags.of(post)).body(post);
     }
 
+    /**
+     * Lists a post's comments in ascending id order, paged and projected like {@code /posts}.
+     */
     @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody List<Comment> getComments(@PathVariable("id") final String postId) {
+    public ResponseEntity<List<Comment>> getComments(@PathVariable("id") final String postId,
+        @RequestParam(required = false) final Integer page, @RequestParam(required = false) final Integer size,
+        @RequestParam(required = false) final String cursor) {
         if (postId == null || postId.trim().isEmpty()) {
             throw new IllegalArgumentException("Post ID must not be null or empty");
         }
-        auditionLogger.info(logger, "Fetching comments for post with ID: " + postId);
-        List<Comment> comments = auditionService.getCommentsForPost(postId);
-        auditionLogger.info(logger, "Fetched " + comments.size() + " comments for post with ID: " + postId);
-        return comments;
+        auditionLogger.info(logger, "Fetching comments for post with ID: {}", postId);
+        Page<Comment> comments = auditionService.getCommentsForPost(postId, PageQuery.of(page, size, cursor));
+        auditionLogger.info(logger, "Fetched {} comments for post with ID: {}", comments.getItems().size(), postId);
+        return toResponse(comments);
+    }
+
+    /**
+     * Streams a post's comments as newline-delimited JSON.
+     */
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET,
+        produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamComments(@PathVariable("id") final String postId,
+        @RequestParam(required = false) final String fields) {
+        if (postId == null || postId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Post ID must not be null or empty");
+        }
+        auditionLogger.info(logger, "Streaming comments for post with ID: {}", postId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON)
+            .body(JsonStreaming.<Comment>ndjson(JsonStreaming.writerFor(objectMapper, Comment.class, fields),
+                sink -> auditionService.streamCommentsForPost(postId, sink)));
+    }
+
+    /**
+     * Streams a post's comments as a single JSON array written in chunks.
+     */
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET, params = STREAM_PARAM,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommentsAsArray(@PathVariable("id") final String postId,
+        @RequestParam(required = false) final String fields) {
+        if (postId == null || postId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Post ID must not be null or empty");
+        }
+        auditionLogger.info(logger, "Streaming comments as array for post with ID: {}", postId);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+            .body(JsonStreaming.<Comment>jsonArray(JsonStreaming.writerFor(objectMapper, Comment.class, fields),
+                sink -> auditionService.streamCommentsForPost(postId, sink)));
     }
 
     @RequestMapping(value = "/posts/{id}/with-comments", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
-    public @ResponseBody AuditionPost getPostWithComments(@PathVariable("id") final String postId) {
+    public ResponseEntity<AuditionPost> getPostWithComments(@PathVariable("id") final String postId) {
 
-        auditionLogger.info(logger, "Fetching post with comments for post ID: " + postId);
+        auditionLogger.info(logger, "Fetching post with comments for post ID: {}", postId);
         AuditionPost auditionPost = auditionService.getPostWithComments(postId);
-        auditionLogger.info(logger, "Fetched post with comments for post ID: " + postId);
-        return auditionPost;
+        auditionLogger.info(logger, "Fetched post with comments for post ID: {}", postId);
+        return ResponseEntity.ok().eTag(ETags.of(auditionPost)).body(auditionPost);
     }
 
+    private static <T> ResponseEntity<List<T>> toResponse(final Page<T> page) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.set(TOTAL_COUNT_HEADER, String.valueOf(page.getTotalElements()));
+        if (page.getNextPage() != null) {
+            headers.set(NEXT_PAGE_HEADER, String.valueOf(page.getNextPage()));
+        }
+        if (page.getNextCursor() != null) {
+            headers.set(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        final String eTag = ETags.of(page.getItems(), page.getTotalElements(), page.getNextPage(),
+            page.getNextCursor());
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(page.getItems());
+    }
 }
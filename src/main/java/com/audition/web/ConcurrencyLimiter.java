@@ -0,0 +1,93 @@
+package com.audition.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounds the number of requests in flight with a limit that adapts to how the service copes (AIMD).
+ *
+ * <p>A request that completes in time while at least half the limit is in use raises the limit by {@code 1/limit},
+ * i.e. by about one per limit's worth of requests. A request that reports overload, or takes longer than
+ * {@code maxLatency}, multiplies the limit by {@code backoffRatio}. Only requests that started after the previous
+ * back-off trigger another one, so a burst of slow requests that were all admitted under the old limit backs off
+ * once rather than collapsing the limit to its minimum.</p>
+ */
+public class ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long maxLatencyNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // A lock rather than synchronized, so that virtual threads completing requests do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limit;
+    private long lastBackoff = System.nanoTime();
+    private volatile int currentLimit;
+
+    public ConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+        final Duration maxLatency, final double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+    }
+
+    /**
+     * Admits a request if fewer than its priority's share of the limit are in flight. An admitted request must be
+     * {@link #release released} exactly once.
+     */
+    public boolean tryAcquire(final AdmissionPriority priority) {
+        final int capacity = priority.capacity(currentLimit);
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and adjusts the limit.
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param overloaded whether the request failed in a way that points at overload
+     */
+    public void release(final long startNanos, final boolean overloaded) {
+        final int concurrency = inFlight.getAndDecrement();
+        final long now = System.nanoTime();
+        final boolean backoff = overloaded || now - startNanos > maxLatencyNanos;
+        lock.lock();
+        try {
+            if (backoff) {
+                if (startNanos - lastBackoff >= 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastBackoff = now;
+                }
+            } else if (concurrency * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            currentLimit = (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.audition.web;
+
+import com.audition.service.ContentHashes;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Strong ETags derived from the content hash of a response body rather than from its serialized bytes, so that an
+ * unchanged resource can be answered with a 304 before anything is serialized.
+ */
+final class ETags {
+
+    private static final String FIELDS_PARAM = "fields";
+
+    private ETags() {
+    }
+
+    /**
+     * Returns the ETag of {@code body}, also covering anything else that shapes the representation: the given
+     * {@code variants} (e.g. paging headers) and the {@code fields} projection of the current request.
+     */
+    static String of(final Object body, final Object... variants) {
+        long hash = ContentHashes.of(body);
+        for (final Object variant : variants) {
+            hash = ContentHashes.combine(hash, ContentHashes.of(variant));
+        }
+        hash = ContentHashes.combine(hash, ContentHashes.of(currentFields()));
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static String currentFields() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getParameter(FIELDS_PARAM);
+        }
+        return null;
+    }
+}
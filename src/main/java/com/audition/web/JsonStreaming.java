@@ -0,0 +1,82 @@
+package com.audition.web;
+
+import com.audition.web.advice.FieldProjection;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes items to the response as they are produced, either as newline-delimited JSON or as one chunked JSON
+ * array, so that memory per request does not grow with the number of items.
+ */
+final class JsonStreaming {
+
+    private JsonStreaming() {
+    }
+
+    /**
+     * Streams the items handed to the sink by {@code producer} as one JSON document per line.
+     */
+    static <T> StreamingResponseBody ndjson(final ObjectWriter writer, final Consumer<Consumer<T>> producer) {
+        return stream(writer, producer, false);
+    }
+
+    /**
+     * Streams the items handed to the sink by {@code producer} as the elements of a single JSON array.
+     */
+    static <T> StreamingResponseBody jsonArray(final ObjectWriter writer, final Consumer<Consumer<T>> producer) {
+        return stream(writer, producer, true);
+    }
+
+    /**
+     * Returns a writer for {@code type} that only writes {@code fields}, when given.
+     */
+    static ObjectWriter writerFor(final ObjectMapper objectMapper, final Class<?> type, final String fields) {
+        final ObjectWriter writer = objectMapper.writerFor(type)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        if (fields == null || fields.isBlank()) {
+            return writer;
+        }
+        final SimpleFilterProvider filters = FieldProjection.forType(type, FieldProjection.parseFields(fields));
+        return filters == null ? writer : writer.with(filters);
+    }
+
+    private static <T> StreamingResponseBody stream(final ObjectWriter writer,
+        final Consumer<Consumer<T>> producer, final boolean array) {
+        return out -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+                generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                generator.setRootValueSeparator(null);
+                if (array) {
+                    generator.writeStartArray();
+                }
+                final int[] written = {0};
+                producer.accept(item -> {
+                    try {
+                        writer.writeValue(generator, item);
+                        if (!array) {
+                            generator.writeRaw('\n');
+                        }
+                        if (++written[0] == 1) {
+                            // Get the first item on the wire; after that the generator's buffer decides.
+                            generator.flush();
+                        }
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (array) {
+                    generator.writeEndArray();
+                }
+            } catch (final UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.audition.web;
+
+import com.audition.common.logging.AuditionLogger;
+import com.audition.integration.ReactiveAuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.audition.service.AuditionService;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Serves the post endpoints from {@link ReactiveAuditionIntegrationClient} when
+ * {@code audition.api.client.mode=reactive}, replacing {@link AuditionController}.
+ *
+ * <p>Handlers return {@link Mono}/{@link Flux} so no servlet thread waits on upstream I/O. Collections are also
+ * offered as {@code application/x-ndjson}, which is written element by element as the upstream array is decoded.</p>
+ */
+@RestController
+@AllArgsConstructor
+@ConditionalOnProperty(prefix = "audition.api.client", name = "mode", havingValue = "reactive")
+public class ReactiveAuditionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuditionController.class);
+
+    private static final String INCLUDE_COMMENTS = "comments";
+
+    private final ReactiveAuditionIntegrationClient reactiveAuditionIntegrationClient;
+
+    private final AuditionService auditionService;
+
+    private final AuditionLogger auditionLogger;
+
+    @RequestMapping(value = "/posts", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<AuditionPost> getPosts(@RequestParam(required = false) final String category) {
+        auditionLogger.info(logger, "Fetching posts with category: {}", category);
+        return reactiveAuditionIntegrationClient.getPosts(category);
+    }
+
+    @RequestMapping(value = "/posts/batch", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<AuditionPost>> getPostsBatch(@RequestParam("ids") final List<String> postIds,
+        @RequestParam(value = "include", required = false) final String include) {
+        final boolean includeComments = INCLUDE_COMMENTS.equalsIgnoreCase(include);
+        auditionLogger.info(logger, "Fetching batch of {} posts, include: {}", postIds.size(), include);
+        // The batch path is built on the blocking service; keep it off the request thread.
+        return Mono.fromCallable(() -> auditionService.getPostsBatch(postIds, includeComments))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @RequestMapping(value = "/posts/{id}", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuditionPost> getPost(@PathVariable("id") final String postId) {
+        validatePostId(postId);
+        auditionLogger.info(logger, "Fetching post with ID: {}", postId);
+        return reactiveAuditionIntegrationClient.getPostById(postId);
+    }
+
+    @RequestMapping(value = "/posts/{id}/comments", method = RequestMethod.GET,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Comment> getComments(@PathVariable("id") final String postId) {
+        validatePostId(postId);
+        auditionLogger.info(logger, "Fetching comments for post with ID: {}", postId);
+        return reactiveAuditionIntegrationClient.getCommentsForPost(postId);
+    }
+
+    @RequestMapping(value = "/posts/{id}/with-comments", method = RequestMethod.GET,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<AuditionPost> getPostWithComments(@PathVariable("id") final String postId) {
+        auditionLogger.info(logger, "Fetching post with comments for post ID: {}", postId);
+        return reactiveAuditionIntegrationClient.getPostWithComments(postId);
+    }
+
+    private static void validatePostId(final String postId) {
+        if (postId == null || postId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Post ID must not be null or empty");
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.audition.web.advice;
 
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.web.AdmissionControlInterceptor;
 import io.micrometer.common.util.StringUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,19 +43,33 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
 
     @ExceptionHandler(Exception.class)
-    ProblemDetail handleMainException(final Exception e) {
+    ProblemDetail handleMainException(final Exception e, final HttpServletRequest request) {
+        markLocalOverload(e, request);
         final HttpStatusCode status = getHttpStatusCodeFromException(e);
         return createProblemDetail(e, status);
 
     }
 
     @ExceptionHandler(SystemException.class)
-    ProblemDetail handleSystemException(final SystemException e) {
+    ProblemDetail handleSystemException(final SystemException e, final HttpServletRequest request) {
+        markLocalOverload(e, request);
         final HttpStatusCode status = getHttpStatusCodeFromSystemException(e);
         return createProblemDetail(e, status);
 
     }
 
+    /**
+     * Lets admission control back off when a local thread pool turned work away. Upstream failures are not marked.
+     */
+    private static void markLocalOverload(final Throwable exception, final HttpServletRequest request) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                AdmissionControlInterceptor.markOverloaded(request);
+                return;
+            }
+        }
+    }
+
 
     private ProblemDetail createProblemDetail(final Exception exception,
         final HttpStatusCode statusCode) {
@@ -86,6 +104,8 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
             return ((HttpClientErrorException) exception).getStatusCode();
         } else if (exception instanceof HttpRequestMethodNotSupportedException) {
             return METHOD_NOT_ALLOWED;
+        } else if (exception instanceof RejectedExecutionException) {
+            return SERVICE_UNAVAILABLE;
         }
         return INTERNAL_SERVER_ERROR;
     }
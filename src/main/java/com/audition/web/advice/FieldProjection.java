@@ -0,0 +1,82 @@
+package com.audition.web.advice;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Jackson filters that let a response be limited to the fields a client asked for with {@code fields=}.
+ *
+ * <p>The filters are attached to the model through mix-ins, so the model classes stay plain and other object mappers
+ * are unaffected. Unless a request selects fields, every property is written.</p>
+ */
+public final class FieldProjection {
+
+    public static final String POST_FILTER = "auditionPost";
+    public static final String COMMENT_FILTER = "comment";
+
+    private FieldProjection() {
+    }
+
+    /**
+     * Attaches the projection filters to the model and makes "write everything" the default.
+     */
+    public static void register(final ObjectMapper objectMapper) {
+        objectMapper.addMixIn(AuditionPost.class, PostMixIn.class);
+        objectMapper.addMixIn(Comment.class, CommentMixIn.class);
+        objectMapper.setFilterProvider(serializeAll());
+    }
+
+    /**
+     * Returns filters that write only {@code fields} of the body's top-level items, or {@code null} if the body is
+     * not made of posts or comments.
+     */
+    static SimpleFilterProvider forBody(final Object body, final Set<String> fields) {
+        final Object sample = body instanceof Collection<?> items ? items.stream().findFirst().orElse(null) : body;
+        return sample == null ? null : forType(sample.getClass(), fields);
+    }
+
+    /**
+     * Returns filters that write only {@code fields} of each {@code type}, or {@code null} if {@code type} cannot be
+     * projected.
+     */
+    public static SimpleFilterProvider forType(final Class<?> type, final Set<String> fields) {
+        final String filterId;
+        if (AuditionPost.class.isAssignableFrom(type)) {
+            filterId = POST_FILTER;
+        } else if (Comment.class.isAssignableFrom(type)) {
+            filterId = COMMENT_FILTER;
+        } else {
+            return null;
+        }
+        return serializeAll().addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    public static Set<String> parseFields(final String fields) {
+        return Arrays.stream(fields.split(","))
+            .map(String::trim)
+            .filter(field -> !field.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static SimpleFilterProvider serializeAll() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    @JsonFilter(POST_FILTER)
+    private interface PostMixIn {
+
+    }
+
+    @JsonFilter(COMMENT_FILTER)
+    private interface CommentMixIn {
+
+    }
+}
@@ -0,0 +1,43 @@
+package com.audition.web.advice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.Set;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies {@code fields=id,title} projections while the response is serialized, so unselected properties are never
+ * written and the model objects are not copied. Runs before {@link SerializedResponseAdvice}, which keeps the
+ * projected bytes.
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class FieldProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String FIELDS_PARAM = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(final MappingJacksonValue bodyContainer, final MediaType contentType,
+        final MethodParameter returnType, final ServerHttpRequest request, final ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        final String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAM);
+        if (fields == null || fields.isBlank()) {
+            return;
+        }
+        final Set<String> selected = FieldProjection.parseFields(fields);
+        final SimpleFilterProvider filters = FieldProjection.forBody(bodyContainer.getValue(), selected);
+        if (filters != null) {
+            bodyContainer.setFilters(filters);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.audition.web.advice;
+
+import com.audition.configuration.ResponseCacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Serves repeated responses from their already serialized, and where accepted gzip-compressed, bytes.
+ *
+ * <p>Only responses that carry an ETag are kept: the ETag already covers the data, the paging and the field
+ * selection, so together with the request URI and the content coding it identifies the bytes exactly. A hit is written
+ * straight to the response and the message converter is skipped. This runs after {@link FieldProjectionAdvice} so the
+ * projection is part of what gets kept.</p>
+ */
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "audition.response-cache", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class SerializedResponseAdvice implements ResponseBodyAdvice<Object>, MeterBinder {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final int minCompressSize;
+    private final Cache<Key, Payload> payloads;
+
+    public SerializedResponseAdvice(final ObjectMapper objectMapper, final ResponseCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.minCompressSize = (int) Math.min(Integer.MAX_VALUE, properties.getMinCompressSize().toBytes());
+        this.payloads = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxSize().toBytes())
+            .weigher((Key key, Payload payload) -> payload.bytes().length)
+            .recordStats()
+            .build();
+    }
+
+    @Override
+    public boolean supports(final MethodParameter returnType,
+        final Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, final MethodParameter returnType, final MediaType contentType,
+        final Class<? extends HttpMessageConverter<?>> converterType, final ServerHttpRequest request,
+        final ServerHttpResponse response) {
+        final String eTag = response.getHeaders().getETag();
+        if (body == null || eTag == null || !HttpMethod.GET.equals(request.getMethod())) {
+            return body;
+        }
+
+        final boolean acceptsGzip = acceptsGzip(request.getHeaders());
+        final Key key = new Key(request.getURI().toString(), eTag, contentType.toString(), acceptsGzip);
+        final Payload payload = payloads.get(key, k -> serialize(body, acceptsGzip));
+
+        final HttpHeaders headers = response.getHeaders();
+        headers.setContentType(contentType);
+        headers.setContentLength(payload.bytes().length);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzipped()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+            // A different encoding is a different representation; If-None-Match still matches it weakly.
+            headers.setETag("W/" + eTag);
+        }
+        try {
+            response.getBody().write(payload.bytes());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Written already; a null body tells the converter there is nothing left to write.
+        return null;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, payloads, "serializedResponses");
+    }
+
+    private Payload serialize(final Object body, final boolean acceptsGzip) {
+        try {
+            final byte[] json = writerFor(body).writeValueAsBytes(valueOf(body));
+            if (!acceptsGzip || json.length < minCompressSize) {
+                return new Payload(json, false);
+            }
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new Payload(compressed.toByteArray(), true);
+        } catch (final IOException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private ObjectWriter writerFor(final Object body) {
+        if (body instanceof MappingJacksonValue container) {
+            ObjectWriter writer = objectMapper.writer();
+            if (container.getFilters() != null) {
+                writer = writer.with(container.getFilters());
+            }
+            if (container.getSerializationView() != null) {
+                writer = writer.withView(container.getSerializationView());
+            }
+            return writer;
+        }
+        return objectMapper.writer();
+    }
+
+    private static Object valueOf(final Object body) {
+        return body instanceof MappingJacksonValue container ? container.getValue() : body;
+    }
+
+    static boolean acceptsGzip(final HttpHeaders requestHeaders) {
+        for (final String header : requestHeaders.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (final String coding : header.split(",")) {
+                final String[] parts = coding.trim().split(";");
+                if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                    return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private record Key(String uri, String eTag, String contentType, boolean acceptsGzip) {
+
+    }
+
+    private record Payload(byte[] bytes, boolean gzipped) {
+
+    }
+}
@@ -0,0 +1,99 @@
+package com.audition.common.cache;
+
+import com.audition.common.exception.SystemException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingCacheTest {
+
+    private final CoalescingCache<String, String> cache = new CoalescingCache<>(10, Duration.ofMinutes(1));
+
+    @Test
+    void testGetLoadsOnceAndThenHits() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("value-1", cache.get("1", k -> {
+            loads.incrementAndGet();
+            return "value-" + k;
+        }));
+        assertEquals("value-1", cache.get("1", k -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 50;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("1", k -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "post-" + k;
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("post-1", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(SystemException.class, () -> cache.get("1", k -> {
+            throw new SystemException("Upstream unavailable", 503);
+        }));
+
+        assertEquals("post-1", cache.get("1", k -> "post-" + k));
+    }
+
+    @Test
+    void testPeekDoesNotLoad() {
+        assertTrue(cache.peek("1").isEmpty());
+        cache.put("1", "post-1");
+        assertEquals("post-1", cache.peek("1").orElseThrow());
+    }
+
+    @Test
+    void testPutStaleIsOnlyAFallback() {
+        CoalescingCache<String, String> withStale = new CoalescingCache<>(10, Duration.ofMinutes(1),
+            Duration.ofHours(1));
+        withStale.putStale("1", "restored");
+
+        assertTrue(withStale.peek("1").isEmpty());
+        assertEquals("restored", withStale.peekStale("1").orElseThrow());
+        assertEquals(Map.of("1", "restored"), withStale.retained());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
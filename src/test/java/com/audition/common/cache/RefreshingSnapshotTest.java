@@ -0,0 +1,212 @@
+package com.audition.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshingSnapshotTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+    private final AtomicInteger version = new AtomicInteger();
+
+    private final RefreshingSnapshot<Integer> snapshot = new RefreshingSnapshot<>("test",
+        version::incrementAndGet, Duration.ofMinutes(1), Duration.ofMinutes(10), backgroundTasks::add,
+        new SimpleMeterRegistry(), clock);
+
+    @Test
+    void testColdStartLoadsOnCallerThread() {
+        assertEquals(1, snapshot.get());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void testFreshSnapshotIsServedWithoutRefresh() {
+        snapshot.get();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(1, snapshot.get());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void testSoftExpiredSnapshotIsServedWhileRefreshingInBackground() {
+        snapshot.get();
+        clock.advance(Duration.ofMinutes(2));
+
+        assertEquals(1, snapshot.get());
+        assertEquals(1, snapshot.get());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.poll().run();
+        assertEquals(2, snapshot.get());
+    }
+
+    @Test
+    void testHardExpiredSnapshotBlocksOnRefresh() {
+        snapshot.get();
+        clock.advance(Duration.ofMinutes(11));
+
+        assertEquals(2, snapshot.get());
+        assertTrue(backgroundTasks.isEmpty());
+    }
+
+    @Test
+    void testFailedBackgroundRefreshKeepsPreviousSnapshot() {
+        RefreshingSnapshot<Integer> failing = new RefreshingSnapshot<>("failing", () -> {
+            if (version.incrementAndGet() > 1) {
+                throw new IllegalStateException("upstream down");
+            }
+            return version.get();
+        }, Duration.ofMinutes(1), Duration.ofMinutes(10), backgroundTasks::add, new SimpleMeterRegistry(), clock);
+
+        assertEquals(1, failing.get());
+        clock.advance(Duration.ofMinutes(2));
+        failing.get();
+        backgroundTasks.poll().run();
+
+        assertEquals(1, failing.get());
+    }
+
+    @Test
+    void testRefreshFailingWithErrorDoesNotStayInFlight() {
+        RefreshingSnapshot<Integer> failing = new RefreshingSnapshot<>("failing", () -> {
+            if (version.incrementAndGet() == 1) {
+                throw new StackOverflowError();
+            }
+            return version.get();
+        }, Duration.ofMinutes(1), Duration.ofMinutes(10), backgroundTasks::add, new SimpleMeterRegistry(), clock);
+
+        assertThrows(StackOverflowError.class, failing::get);
+
+        assertEquals(2, failing.get());
+    }
+
+    @Test
+    void testRejectedRefreshDoesNotStayInFlight() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        RefreshingSnapshot<Integer> rejected = new RefreshingSnapshot<>("rejected", version::incrementAndGet,
+            Duration.ofMinutes(1), Duration.ofMinutes(10), task -> {
+                if (rejecting.get()) {
+                    throw new RejectedExecutionException("shut down");
+                }
+                backgroundTasks.add(task);
+            }, new SimpleMeterRegistry(), clock);
+
+        assertTrue(rejected.refreshAsync().isCompletedExceptionally());
+        rejecting.set(false);
+        rejected.refreshAsync();
+
+        assertEquals(1, backgroundTasks.size());
+    }
+
+    @Test
+    void testSoftExpiredSnapshotIsStaleOnceRefreshFails() {
+        RefreshingSnapshot<Integer> failing = new RefreshingSnapshot<>("failing", () -> {
+            if (version.incrementAndGet() > 1) {
+                throw new IllegalStateException("upstream down");
+            }
+            return version.get();
+        }, Duration.ofMinutes(1), Duration.ofMinutes(10), backgroundTasks::add, new SimpleMeterRegistry(), clock);
+        failing.get();
+        clock.advance(Duration.ofMinutes(2));
+
+        assertEquals(CacheOutcome.HIT, outcomeOf(failing::get));
+        backgroundTasks.poll().run();
+
+        assertEquals(CacheOutcome.STALE, outcomeOf(failing::get));
+    }
+
+    @Test
+    void testRestoredSnapshotIsServedRegardlessOfAgeUntilRefreshed() {
+        assertTrue(snapshot.restore(7, clock.instant().minus(Duration.ofDays(1))));
+
+        assertEquals(7, snapshot.get());
+        assertEquals(7, snapshot.peek().orElseThrow());
+        assertEquals(1, backgroundTasks.size());
+
+        backgroundTasks.poll().run();
+        assertEquals(1, snapshot.get());
+        assertFalse(snapshot.restore(7, clock.instant()));
+    }
+
+    @Test
+    void testLastKnownAtIsWhenTheSnapshotWasFetched() {
+        Instant savedAt = clock.instant().minus(Duration.ofDays(1));
+        assertTrue(snapshot.lastKnownAt().isEmpty());
+        snapshot.restore(7, savedAt);
+        assertEquals(savedAt, snapshot.lastKnownAt().orElseThrow());
+
+        clock.advance(Duration.ofMinutes(2));
+        snapshot.get();
+        backgroundTasks.poll().run();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertEquals(Instant.parse("2024-01-01T00:02:00Z"), snapshot.lastKnownAt().orElseThrow());
+    }
+
+    @Test
+    void testRefreshListenersSeeEachLoadedSnapshot() {
+        List<Integer> refreshed = new ArrayList<>();
+        snapshot.onRefresh(refreshed::add);
+
+        snapshot.get();
+        clock.advance(Duration.ofMinutes(2));
+        snapshot.get();
+        backgroundTasks.poll().run();
+
+        assertEquals(List.of(1, 2), refreshed);
+    }
+
+    private static String outcomeOf(final Runnable read) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            read.run();
+            return CacheOutcome.of(request);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.audition.common.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void testCountsEventsDroppedWhileTheWriterIsStuck() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppenderBase<ILoggingEvent> stuck = new AppenderBase<>() {
+            @Override
+            protected void append(final ILoggingEvent event) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        stuck.setContext(context);
+        stuck.start();
+        MeteredAsyncAppender appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        // Events below WARN are discarded once fewer than 2 slots are left.
+        appender.setQueueSize(10);
+        appender.setNeverBlock(true);
+        appender.addAppender(stuck);
+        appender.start();
+
+        try {
+            appender.doAppend(event(Level.INFO, "taken by the writer"));
+            assertTrue(writing.await(1, TimeUnit.SECONDS));
+
+            appendAll(appender, Level.INFO, 9);
+            assertEquals(0, appender.getDroppedCount());
+
+            // 1 slot left: INFO is discarded, WARN still fits.
+            appendAll(appender, Level.INFO, 3);
+            appendAll(appender, Level.WARN, 1);
+            assertEquals(3, appender.getDroppedCount());
+
+            // Queue full: WARN does not fit, INFO is discarded, and each is counted once.
+            appendAll(appender, Level.WARN, 2);
+            appendAll(appender, Level.INFO, 3);
+            assertEquals(8, appender.getDroppedCount());
+        } finally {
+            release.countDown();
+            appender.stop();
+        }
+    }
+
+    @Test
+    void testNothingIsDroppedWithRoomInTheQueue() {
+        AppenderBase<ILoggingEvent> discarding = new AppenderBase<>() {
+            @Override
+            protected void append(final ILoggingEvent event) {
+                // discard
+            }
+        };
+        discarding.setContext(context);
+        discarding.start();
+        MeteredAsyncAppender appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        appender.setNeverBlock(true);
+        appender.addAppender(discarding);
+        appender.start();
+
+        appender.doAppend(event(Level.INFO, "event"));
+        appender.stop();
+
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+    private void appendAll(final MeteredAsyncAppender appender, final Level level, final int count) {
+        for (int i = 0; i < count; i++) {
+            appender.doAppend(event(level, level + " " + i));
+        }
+    }
+
+    private LoggingEvent event(final Level level, final String message) {
+        return new LoggingEvent(MeteredAsyncAppenderTest.class.getName(), context.getLogger("test"), level, message,
+            null, null);
+    }
+}
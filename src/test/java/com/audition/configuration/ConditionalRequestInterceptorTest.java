@@ -0,0 +1,127 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.unit.DataSize;
+
+class ConditionalRequestInterceptorTest {
+
+    private static final byte[] NO_BODY = new byte[0];
+    private static final URI POSTS = URI.create("https://upstream/posts");
+    private static final String BODY = "[{\"id\":1,\"title\":\"Post 1\"}]";
+
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+    private final ConditionalRequestInterceptor interceptor = new ConditionalRequestInterceptor(
+        new UpstreamClientProperties.Conditional());
+
+    @Test
+    void testNotModifiedReplaysKeptBody() throws IOException {
+        MockClientHttpResponse first = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8),
+            HttpStatus.OK);
+        first.getHeaders().setETag("\"v1\"");
+        when(execution.execute(any(), any()))
+            .thenReturn(first)
+            .thenReturn(new MockClientHttpResponse(NO_BODY, HttpStatus.NOT_MODIFIED));
+
+        assertEquals(BODY, readAndClose(interceptor.intercept(get(), NO_BODY, execution)));
+
+        MockClientHttpRequest revalidation = get();
+        ClientHttpResponse replayed = interceptor.intercept(revalidation, NO_BODY, execution);
+
+        assertEquals("\"v1\"", revalidation.getHeaders().getFirst("If-None-Match"));
+        assertEquals(HttpStatus.OK, replayed.getStatusCode());
+        assertEquals(BODY, readAndClose(replayed));
+    }
+
+    @Test
+    void testPartiallyReadBodyIsNotKept() throws IOException {
+        MockClientHttpResponse first = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8),
+            HttpStatus.OK);
+        first.getHeaders().setETag("\"v1\"");
+        UpstreamClientProperties.Conditional properties = new UpstreamClientProperties.Conditional();
+        properties.setMaxEntrySize(DataSize.ofBytes(4));
+        ConditionalRequestInterceptor small = new ConditionalRequestInterceptor(properties);
+        when(execution.execute(any(), any()))
+            .thenReturn(first)
+            .thenReturn(new MockClientHttpResponse(NO_BODY, HttpStatus.OK));
+
+        ClientHttpResponse response = small.intercept(get(), NO_BODY, execution);
+        response.getBody().read(new byte[2]);
+        response.close();
+
+        MockClientHttpRequest next = get();
+        small.intercept(next, NO_BODY, execution);
+
+        assertNull(next.getHeaders().getFirst("If-None-Match"));
+    }
+
+    @Test
+    void testBodyLargerThanEntryLimitIsNotKept() throws IOException {
+        MockClientHttpResponse first = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8),
+            HttpStatus.OK);
+        first.getHeaders().setETag("\"v1\"");
+        UpstreamClientProperties.Conditional properties = new UpstreamClientProperties.Conditional();
+        properties.setMaxEntrySize(DataSize.ofBytes(4));
+        ConditionalRequestInterceptor small = new ConditionalRequestInterceptor(properties);
+        when(execution.execute(any(), any()))
+            .thenReturn(first)
+            .thenReturn(new MockClientHttpResponse(NO_BODY, HttpStatus.OK));
+
+        assertEquals(BODY, readAndClose(small.intercept(get(), NO_BODY, execution)));
+
+        MockClientHttpRequest next = get();
+        small.intercept(next, NO_BODY, execution);
+
+        assertNull(next.getHeaders().getFirst("If-None-Match"));
+    }
+
+    @Test
+    void testSkippedRequestIsNeitherRevalidatedNorKept() throws IOException {
+        MockClientHttpResponse first = new MockClientHttpResponse(BODY.getBytes(StandardCharsets.UTF_8),
+            HttpStatus.OK);
+        first.getHeaders().setETag("\"v1\"");
+        when(execution.execute(any(), any()))
+            .thenReturn(first)
+            .thenReturn(new MockClientHttpResponse(NO_BODY, HttpStatus.OK));
+
+        String read = ConditionalRequestInterceptor.skipping(() -> {
+            try {
+                return readAndClose(interceptor.intercept(get(), NO_BODY, execution));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        MockClientHttpRequest next = get();
+        interceptor.intercept(next, NO_BODY, execution);
+
+        assertEquals(BODY, read);
+        assertNull(next.getHeaders().getFirst("If-None-Match"));
+    }
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, POSTS);
+    }
+
+    private static String readAndClose(final ClientHttpResponse response) throws IOException {
+        try (response) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+}
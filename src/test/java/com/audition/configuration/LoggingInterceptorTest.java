@@ -0,0 +1,73 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+class LoggingInterceptorTest {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+        URI.create("https://upstream/posts"));
+
+    private final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+
+    @Test
+    void testUnsampledCallsPassThrough() throws IOException {
+        UpstreamClientProperties.Logging properties = new UpstreamClientProperties.Logging();
+        properties.setSampleRate(0);
+        MockClientHttpResponse response = new MockClientHttpResponse(NO_BODY, HttpStatus.OK);
+        when(execution.execute(request, NO_BODY)).thenReturn(response);
+
+        assertSame(response, new LoggingInterceptor(properties).intercept(request, NO_BODY, execution));
+    }
+
+    @Test
+    void testSampledCallsWithoutBodyLoggingAreNotWrapped() throws IOException {
+        UpstreamClientProperties.Logging properties = new UpstreamClientProperties.Logging();
+        properties.setSampleRate(1);
+        request.getHeaders().setBearerAuth("secret");
+        MockClientHttpResponse response = new MockClientHttpResponse(NO_BODY, HttpStatus.OK);
+        when(execution.execute(request, NO_BODY)).thenReturn(response);
+
+        assertSame(response, new LoggingInterceptor(properties).intercept(request, NO_BODY, execution));
+        assertEquals("Bearer secret", request.getHeaders().getFirst("Authorization"));
+    }
+
+    @Test
+    void testBodyLoggingLeavesResponseBodyIntact() throws IOException {
+        UpstreamClientProperties.Logging properties = new UpstreamClientProperties.Logging();
+        properties.setSampleRate(1);
+        properties.setLogBodies(true);
+        properties.setMaxBodySize(4);
+        String body = "[{\"id\":1,\"title\":\"Post 1\"}]";
+        ClientHttpResponse upstream = mock(ClientHttpResponse.class);
+        MockClientHttpResponse stub = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8),
+            HttpStatus.OK);
+        when(upstream.getStatusCode()).thenReturn(HttpStatus.OK);
+        when(upstream.getHeaders()).thenReturn(stub.getHeaders());
+        when(upstream.getBody()).thenReturn(stub.getBody());
+        when(execution.execute(request, NO_BODY)).thenReturn(upstream);
+
+        ClientHttpResponse response = new LoggingInterceptor(properties).intercept(request, NO_BODY, execution);
+
+        assertEquals(body, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+        response.close();
+        verify(upstream).close();
+    }
+}
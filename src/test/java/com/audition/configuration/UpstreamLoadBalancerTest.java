@@ -0,0 +1,190 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+class UpstreamLoadBalancerTest {
+
+    private static final byte[] NO_BODY = new byte[0];
+    private static final URI POSTS = URI.create("https://jsonplaceholder.typicode.com/posts?id=1&id=2");
+
+    private final UpstreamEndpointProperties properties = new UpstreamEndpointProperties();
+    private final List<URI> routed = new ArrayList<>();
+    private final CountDownLatch slowReleased = new CountDownLatch(1);
+    private volatile String slowHost;
+    private volatile HttpStatus status = HttpStatus.OK;
+
+    private final ClientHttpRequestExecution execution = (request, body) -> {
+        synchronized (routed) {
+            routed.add(request.getURI());
+        }
+        final String host = request.getURI().getHost();
+        if (host.equals(slowHost)) {
+            try {
+                slowReleased.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new MockClientHttpResponse(host.getBytes(StandardCharsets.UTF_8), status);
+    };
+
+    private UpstreamLoadBalancer balancer;
+
+    @AfterEach
+    void tearDown() {
+        slowReleased.countDown();
+        if (balancer != null) {
+            balancer.destroy();
+        }
+    }
+
+    @Test
+    void testRequestIsRewrittenToTheEndpoint() throws IOException {
+        balancer = balancer("http://replica:8080/api");
+
+        assertEquals("replica", readAndClose(balancer.intercept(get(), NO_BODY, execution)));
+        assertEquals(URI.create("http://replica:8080/api/posts?id=1&id=2"), routed.get(0));
+    }
+
+    @Test
+    void testEndpointWithFewestOutstandingRequestsIsChosen() throws IOException {
+        balancer = balancer("http://a", "http://b");
+
+        final ClientHttpResponse held = balancer.intercept(get(), NO_BODY, execution);
+        // Hosts are one letter: reading it leaves the body open.
+        final String heldHost = String.valueOf((char) held.getBody().read());
+
+        for (int i = 0; i < 10; i++) {
+            final String host = readAndClose(balancer.intercept(get(), NO_BODY, execution));
+            assertNotEquals(heldHost, host, "Request " + i + " went to the busy endpoint " + heldHost);
+        }
+        held.close();
+    }
+
+    @Test
+    void testRequestIsNoLongerOutstandingOnceItsBodyIsFullyRead() throws IOException {
+        balancer = balancer("http://a", "http://b");
+        final ClientHttpResponse held = balancer.intercept(get(), NO_BODY, execution);
+        final String heldHost = String.valueOf((char) held.getBody().read());
+
+        // Read to the end but never closed: each would otherwise stay outstanding and tip the balance.
+        for (int i = 0; i < 10; i++) {
+            final ClientHttpResponse read = balancer.intercept(get(), NO_BODY, execution);
+            final String host = StreamUtils.copyToString(read.getBody(), StandardCharsets.UTF_8);
+            assertNotEquals(heldHost, host, "Request " + i + " went to the busy endpoint " + heldHost);
+        }
+        held.close();
+    }
+
+    @Test
+    void testFailingEndpointIsTakenOutOfRotation() throws IOException {
+        properties.getLoadBalancing().setUnhealthyAfter(1);
+        balancer = balancer("http://a", "http://b");
+
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        final String failed = readAndClose(balancer.intercept(get(), NO_BODY, execution));
+        status = HttpStatus.OK;
+
+        for (int i = 0; i < 10; i++) {
+            final String host = readAndClose(balancer.intercept(get(), NO_BODY, execution));
+            assertNotEquals(failed, host, "Request " + i + " went to the unhealthy endpoint " + failed);
+        }
+    }
+
+    @Test
+    void testSlowGetIsHedgedToAnotherEndpoint() throws IOException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        balancer = balancer("http://a", "http://b");
+        balancer.bindTo(registry);
+
+        // Keep a request open on b, so that a is chosen first once hedging is on.
+        ClientHttpResponse held;
+        while (true) {
+            held = balancer.intercept(get(), NO_BODY, execution);
+            if ("b".equals(StreamUtils.copyToString(held.getBody(), StandardCharsets.UTF_8))) {
+                break;
+            }
+            held.close();
+        }
+        final UpstreamEndpointProperties.Hedging hedging = properties.getLoadBalancing().getHedging();
+        hedging.setEnabled(true);
+        hedging.setMinSamples(0);
+        hedging.setMinDelay(Duration.ofMillis(10));
+        slowHost = "a";
+
+        assertEquals("b", readAndClose(balancer.intercept(get(), NO_BODY, execution)));
+        assertEquals(1, registry.get("audition.upstream.hedges").tag("result", "sent").functionCounter().count());
+        held.close();
+    }
+
+    @Test
+    void testOnlyLatenciesOfTheSameKindOfRequestTriggerHedging() throws IOException {
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        balancer = balancer("http://a", "http://b");
+        balancer.bindTo(registry);
+        readAndClose(balancer.intercept(get(), NO_BODY, execution));
+        final UpstreamEndpointProperties.Hedging hedging = properties.getLoadBalancing().getHedging();
+        hedging.setEnabled(true);
+        hedging.setMinSamples(1);
+        hedging.setMinDelay(Duration.ofMillis(10));
+        final ClientHttpRequestExecution slow = (request, body) -> {
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return execution.execute(request, body);
+        };
+
+        readAndClose(balancer.intercept(
+            new MockClientHttpRequest(HttpMethod.GET, URI.create("https://jsonplaceholder.typicode.com/posts")),
+            NO_BODY, slow));
+        assertEquals(0, registry.get("audition.upstream.hedges").tag("result", "sent").functionCounter().count());
+
+        readAndClose(balancer.intercept(get(), NO_BODY, slow));
+        assertEquals(1, registry.get("audition.upstream.hedges").tag("result", "sent").functionCounter().count());
+    }
+
+    @Test
+    void testRequestKindIgnoresIdsAndQueryValues() {
+        assertEquals("/posts/{id}/comments",
+            UpstreamLoadBalancer.kind(URI.create("https://jsonplaceholder.typicode.com/posts/12/comments")));
+        assertEquals("/posts?id", UpstreamLoadBalancer.kind(POSTS));
+        assertEquals("/posts", UpstreamLoadBalancer.kind(URI.create("https://jsonplaceholder.typicode.com/posts")));
+    }
+
+    private UpstreamLoadBalancer balancer(final String... baseUrls) {
+        properties.setBaseUrl(List.of(baseUrls).stream().map(URI::create).toList());
+        return new UpstreamLoadBalancer(properties);
+    }
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, POSTS);
+    }
+
+    private static String readAndClose(final ClientHttpResponse response) throws IOException {
+        try (response) {
+            return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.audition.configuration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.integration.UpstreamDeadline;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamRequestFactoryTest {
+
+    private HttpServer upstream;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        // Sends a byte every 50ms for 5s: never slow enough for the per-read response timeout to trip.
+        upstream.createContext("/slow", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < 100; i++) {
+                    body.write('a');
+                    body.flush();
+                    Thread.sleep(50);
+                }
+            } catch (final IOException | InterruptedException e) {
+                // The client went away.
+            }
+        });
+        upstream.createContext("/fast", exchange -> {
+            exchange.sendResponseHeaders(200, 2);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write("ok".getBytes());
+            }
+        });
+        upstream.start();
+        httpClient = HttpClients.custom()
+            .setDefaultRequestConfig(RequestConfig.custom().setResponseTimeout(Timeout.ofSeconds(1)).build())
+            .build();
+        restTemplate = new RestTemplate(new UpstreamRequestFactory(httpClient));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        upstream.stop(0);
+    }
+
+    @Test
+    void testSlowlySentResponseIsAbortedAtTheDeadline() {
+        final long start = System.nanoTime();
+
+        assertThrows(ResourceAccessException.class, () -> UpstreamDeadline.within(Duration.ofMillis(300),
+            () -> restTemplate.getForObject(url("/slow"), String.class)));
+
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "took " + elapsed);
+    }
+
+    @Test
+    void testCallFinishedInTimeIsNotAborted() throws InterruptedException {
+        final String body = UpstreamDeadline.within(Duration.ofMillis(200),
+            () -> restTemplate.getForObject(url("/fast"), String.class));
+        Thread.sleep(300);
+
+        assertEquals("ok", body);
+        assertEquals("ok", restTemplate.getForObject(url("/fast"), String.class));
+    }
+
+    private String url(final String path) {
+        return "http://localhost:" + upstream.getAddress().getPort() + path;
+    }
+}
@@ -1,7 +1,10 @@
 package com.audition.controller;
+import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import com.audition.model.Page;
+import com.audition.model.PageQuery;
 import com.audition.service.AuditionService;
 import com.audition.web.AuditionController;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.ResponseEntity;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -35,25 +39,67 @@ class AuditionControllerTest {
     @Test
     void testGetPosts() {
         List<AuditionPost> expectedPosts = new ArrayList<>();
-        when(auditionService.getPosts(null)).thenReturn(expectedPosts);
+        when(auditionService.getPosts(null, PageQuery.unpaged()))
+                .thenReturn(Page.of(expectedPosts, AuditionPost::getId, PageQuery.unpaged()));
 
-        List<AuditionPost> actualPosts = auditionController.getPosts(null);
+        ResponseEntity<List<AuditionPost>> response = auditionController.getPosts(null, null, null, null);
 
-        assertEquals(expectedPosts, actualPosts);
-        verify(auditionService, times(1)).getPosts(null);
+        assertEquals(expectedPosts, response.getBody());
+        assertEquals("0", response.getHeaders().getFirst("X-Total-Count"));
+        verify(auditionService, times(1)).getPosts(null, PageQuery.unpaged());
+    }
+
+    @Test
+    void testGetPostsPaged() {
+        List<AuditionPost> allPosts = List.of(
+                new AuditionPost(1, 1, "Post 1", "Body 1", "News", null),
+                new AuditionPost(1, 2, "Post 2", "Body 2", "News", null),
+                new AuditionPost(1, 3, "Post 3", "Body 3", "News", null));
+        when(auditionService.getPosts(eq("News"), any(PageQuery.class)))
+                .thenAnswer(invocation -> Page.of(allPosts, AuditionPost::getId, invocation.getArgument(1)));
+
+        ResponseEntity<List<AuditionPost>> response = auditionController.getPosts("News", 0, 2, null);
+
+        assertEquals(2, response.getBody().size());
+        assertEquals("3", response.getHeaders().getFirst("X-Total-Count"));
+        assertEquals("1", response.getHeaders().getFirst("X-Next-Page"));
+    }
+
+    @Test
+    void testGetPostsRejectsPageAndCursorTogether() {
+        SystemException exception = assertThrows(SystemException.class,
+                () -> auditionController.getPosts(null, 1, 10, PageQuery.encodeCursor(5)));
+
+        assertEquals(400, exception.getStatusCode());
     }
 
     @Test
     void testGetPost() {
-        AuditionPost expectedPost = new AuditionPost();
+        AuditionPost expectedPost = new AuditionPost(1, 1, "Post 1", "Body 1", null, null);
         when(auditionService.getPostById("1")).thenReturn(expectedPost);
 
-        AuditionPost actualPost = auditionController.getPost("1");
+        AuditionPost actualPost = auditionController.getPost("1").getBody();
 
         assertEquals(expectedPost, actualPost);
         verify(auditionService, times(1)).getPostById("1");
     }
 
+    @Test
+    void testGetPostETagFollowsContent() {
+        when(auditionService.getPostById("1"))
+                .thenReturn(new AuditionPost(1, 1, "Post 1", "Body 1", "News", null))
+                .thenReturn(new AuditionPost(1, 1, "Post 1", "Body 1", "News", null))
+                .thenReturn(new AuditionPost(1, 1, "Post 1", "Edited", "News", null));
+
+        String first = auditionController.getPost("1").getHeaders().getETag();
+        String same = auditionController.getPost("1").getHeaders().getETag();
+        String edited = auditionController.getPost("1").getHeaders().getETag();
+
+        assertNotNull(first);
+        assertEquals(first, same);
+        assertNotEquals(first, edited);
+    }
+
     @Test
     void testGetPostWithEmptyId() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
@@ -69,18 +115,19 @@ class AuditionControllerTest {
     @Test
     void testGetComments() {
         List<Comment> expectedComments = new ArrayList<>();
-        when(auditionService.getCommentsForPost("1")).thenReturn(expectedComments);
+        when(auditionService.getCommentsForPost("1", PageQuery.unpaged()))
+                .thenReturn(Page.of(expectedComments, Comment::getId, PageQuery.unpaged()));
 
-        List<Comment> actualComments = auditionController.getComments("1");
+        List<Comment> actualComments = auditionController.getComments("1", null, null, null).getBody();
 
         assertEquals(expectedComments, actualComments);
-        verify(auditionService, times(1)).getCommentsForPost("1");
+        verify(auditionService, times(1)).getCommentsForPost("1", PageQuery.unpaged());
     }
 
     @Test
     void testGetCommentsWithEmptyId() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
-            auditionController.getComments("");
+            auditionController.getComments("", null, null, null);
         });
 
         String expectedMessage = "Post ID must not be null or empty";
@@ -91,12 +138,34 @@ class AuditionControllerTest {
 
     @Test
     void testGetPostWithComments() {
-        AuditionPost expectedPost = new AuditionPost();
+        AuditionPost expectedPost = new AuditionPost(1, 1, "Post 1", "Body 1", null, null);
         when(auditionService.getPostWithComments("1")).thenReturn(expectedPost);
 
-        AuditionPost actualPost = auditionController.getPostWithComments("1");
+        AuditionPost actualPost = auditionController.getPostWithComments("1").getBody();
 
         assertEquals(expectedPost, actualPost);
         verify(auditionService, times(1)).getPostWithComments("1");
     }
+
+    @Test
+    void testGetPostsBatchWithComments() {
+        List<AuditionPost> expectedPosts = new ArrayList<>();
+        when(auditionService.getPostsBatch(List.of("1", "2"), true)).thenReturn(expectedPosts);
+
+        List<AuditionPost> actualPosts = auditionController.getPostsBatch(List.of("1", "2"), "comments").getBody();
+
+        assertEquals(expectedPosts, actualPosts);
+        verify(auditionService, times(1)).getPostsBatch(List.of("1", "2"), true);
+    }
+
+    @Test
+    void testGetPostsBatchWithoutComments() {
+        List<AuditionPost> expectedPosts = new ArrayList<>();
+        when(auditionService.getPostsBatch(List.of("1"), false)).thenReturn(expectedPosts);
+
+        List<AuditionPost> actualPosts = auditionController.getPostsBatch(List.of("1"), null).getBody();
+
+        assertEquals(expectedPosts, actualPosts);
+        verify(auditionService, times(1)).getPostsBatch(List.of("1"), false);
+    }
 }
@@ -0,0 +1,51 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.model.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonArrayReaderTest {
+
+    private final JsonArrayReader<Comment> reader = new JsonArrayReader<>(new ObjectMapper(), Comment.class);
+
+    @Test
+    void testReadsEveryElement() throws IOException {
+        List<Comment> comments = reader.read(json("[{\"id\":1,\"postId\":1},null,{\"id\":2,\"postId\":2}]"));
+
+        assertEquals(2, comments.size());
+        assertEquals(2, comments.get(1).getId());
+    }
+
+    @Test
+    void testFiltersWhileParsing() throws IOException {
+        List<Comment> comments = reader.read(
+            json("[{\"id\":1,\"postId\":1},{\"id\":2,\"postId\":2},{\"id\":3,\"postId\":1},{\"id\":4,\"postId\":1}]"),
+            comment -> comment.getPostId() == 1);
+
+        assertEquals(List.of(1, 3, 4), comments.stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void testEmptyBodyReadsAsEmptyList() throws IOException {
+        assertTrue(reader.read(json("")).isEmpty());
+    }
+
+    @Test
+    void testRejectsNonArrayBody() {
+        assertThrows(MismatchedInputException.class, () -> reader.read(json("{\"id\":1}")));
+    }
+
+    private static InputStream json(final String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
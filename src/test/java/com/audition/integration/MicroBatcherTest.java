@@ -0,0 +1,136 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final List<Set<Integer>> loads = new ArrayList<>();
+
+    private final Function<Set<Integer>, Map<Integer, String>> loader = ids -> {
+        loads.add(Set.copyOf(ids));
+        return ids.stream().filter(id -> id < 100).collect(Collectors.toMap(id -> id, id -> "post-" + id));
+    };
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testFullBatchIsLoadedOnceWithoutWaitingForTheWindow() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", loader, Duration.ofMinutes(1), 3,
+            scheduler, Runnable::run);
+
+        CompletableFuture<String> first = batcher.submit(1);
+        CompletableFuture<String> second = batcher.submit(2);
+        CompletableFuture<String> duplicate = batcher.submit(1);
+        CompletableFuture<String> third = batcher.submit(3);
+
+        assertSame(first, duplicate);
+        assertEquals("post-1", first.join());
+        assertEquals("post-2", second.join());
+        assertEquals("post-3", third.join());
+        assertEquals(List.of(Set.of(1, 2, 3)), loads);
+    }
+
+    @Test
+    void testPartialBatchIsLoadedWhenTheWindowPasses() throws Exception {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", loader, Duration.ofMillis(5), 100,
+            scheduler, Runnable::run);
+
+        CompletableFuture<String> found = batcher.submit(1);
+        CompletableFuture<String> missing = batcher.submit(200);
+
+        assertEquals("post-1", found.get(5, TimeUnit.SECONDS));
+        assertNull(missing.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    void testFailedLoadFailsEveryCaller() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", ids -> {
+            throw new IllegalStateException("upstream down");
+        }, Duration.ofMinutes(1), 2, scheduler, Runnable::run);
+
+        CompletableFuture<String> first = batcher.submit(1);
+
+        assertThrows(IllegalStateException.class, () -> batcher.get(2, Duration.ofSeconds(5)));
+        assertTrue(first.isCompletedExceptionally());
+    }
+
+    @Test
+    void testRejectedDispatchFailsEveryCaller() {
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", loader, Duration.ofMinutes(1), 2,
+            scheduler, task -> {
+                throw new RejectedExecutionException("shut down");
+            });
+
+        CompletableFuture<String> first = batcher.submit(1);
+
+        assertThrows(RejectedExecutionException.class, () -> batcher.get(2, Duration.ofSeconds(5)));
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(loads.isEmpty());
+    }
+
+    @Test
+    void testSlowLoadTimesOutWithGatewayTimeout() {
+        CountDownLatch released = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", ids -> {
+                try {
+                    released.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Map.of();
+            }, Duration.ofMinutes(1), 1, scheduler, executor);
+
+            SystemException e = assertThrows(SystemException.class, () -> batcher.get(1, Duration.ofMillis(50)));
+
+            assertEquals(504, e.getStatusCode());
+        } finally {
+            released.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testBatchSizeAndQueueDelayAreRecorded() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicroBatcher<Integer, String> batcher = new MicroBatcher<>("test", loader, Duration.ofMinutes(1), 2,
+            scheduler, Runnable::run);
+        batcher.bindTo(registry);
+
+        batcher.submit(1);
+        batcher.get(2, Duration.ofSeconds(5));
+
+        assertEquals(1, registry.get("audition.upstream.batch.size").tag("name", "test").summary().count());
+        assertEquals(2, registry.get("audition.upstream.batch.size").tag("name", "test").summary().totalAmount());
+        assertEquals(2, registry.get("audition.upstream.batch.queue").tag("name", "test").timer().count());
+    }
+}
@@ -0,0 +1,102 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.UpstreamClientProperties;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+class PostLookupBatcherTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UpstreamClientProperties upstreamClientProperties = new UpstreamClientProperties();
+    private PostLookupBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        batcher.destroy();
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneStreamedQuery() throws Exception {
+        stubPosts(List.of(new AuditionPost(1, 1, "Post 1", "Body 1", null, null),
+            new AuditionPost(1, 3, "Not requested", "Body 3", null, null)));
+        batcher = newBatcher(2);
+
+        final CompletableFuture<AuditionPost> first = CompletableFuture.supplyAsync(() -> batcher.getPostById(1));
+        final AuditionPost missing = waitForOpenBatchThenGet(first, 2);
+
+        assertEquals("Post 1", first.get(5, TimeUnit.SECONDS).getTitle());
+        assertNull(missing);
+        verify(restTemplate, times(1)).execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class),
+            any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testClientErrorIsReportedWithItsStatus() {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class),
+            any(ResponseExtractor.class))).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        batcher = newBatcher(1);
+
+        final SystemException e = assertThrows(SystemException.class, () -> batcher.getPostById(1));
+
+        assertEquals(400, e.getStatusCode());
+    }
+
+    private PostLookupBatcher newBatcher(final int maxSize) {
+        upstreamClientProperties.getBatching().setWindow(Duration.ofMinutes(1));
+        upstreamClientProperties.getBatching().setMaxSize(maxSize);
+        final ResilienceProperties resilienceProperties = new ResilienceProperties();
+        return new PostLookupBatcher(restTemplate, new UpstreamResilience(resilienceProperties), objectMapper,
+            upstreamClientProperties, resilienceProperties);
+    }
+
+    private AuditionPost waitForOpenBatchThenGet(final CompletableFuture<?> first, final int id)
+        throws InterruptedException {
+        // The first lookup opens the batch; the second one fills it and dispatches both.
+        while (!first.isDone() && !hasOpenBatch()) {
+            Thread.sleep(1);
+        }
+        return batcher.getPostById(id);
+    }
+
+    private boolean hasOpenBatch() {
+        final Object microBatcher = ReflectionTestUtils.getField(batcher, "batcher");
+        return ReflectionTestUtils.getField(microBatcher, "open") != null;
+    }
+
+    private void stubPosts(final List<AuditionPost> posts) {
+        when(restTemplate.execute(anyString(), eq(HttpMethod.GET), any(RequestCallback.class),
+            any(ResponseExtractor.class))).thenAnswer(invocation -> {
+                final ResponseExtractor<?> extractor = invocation.getArgument(3);
+                return extractor.extractData(
+                    new MockClientHttpResponse(objectMapper.writeValueAsBytes(posts), HttpStatus.OK));
+            });
+    }
+}
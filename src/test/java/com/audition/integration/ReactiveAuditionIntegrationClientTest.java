@@ -0,0 +1,85 @@
+package com.audition.integration;
+
+import com.audition.common.exception.SystemException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.UpstreamClientProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReactiveAuditionIntegrationClientTest {
+
+    private final Map<String, ClientResponse> responses = new HashMap<>();
+
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> Mono.justOrEmpty(responses.get(request.url().toString()))
+                    .switchIfEmpty(Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.NOT_FOUND).build())))
+            .build();
+
+    private final ReactiveAuditionIntegrationClient client = new ReactiveAuditionIntegrationClient(webClient,
+            mock(AuditionLogger.class), new UpstreamClientProperties(),
+            new UpstreamResilience(new ResilienceProperties()));
+
+    @Test
+    void testGetPostsFiltersByCategoryWhileDecoding() {
+        respond("https://jsonplaceholder.typicode.com/posts", "["
+                + "{\"userId\":1,\"id\":1,\"title\":\"Post 1\",\"body\":\"Body 1\",\"category\":\"Category1\"},"
+                + "{\"userId\":2,\"id\":2,\"title\":\"Post 2\",\"body\":\"Body 2\",\"category\":\"Category2\"}]");
+
+        StepVerifier.create(client.getPosts("category1"))
+                .assertNext(post -> assertEquals(1, post.getId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetPostWithComments() {
+        respond("https://jsonplaceholder.typicode.com/posts/1",
+                "{\"userId\":1,\"id\":1,\"title\":\"Post 1\",\"body\":\"Body 1\"}");
+        respond("https://jsonplaceholder.typicode.com/posts/1/comments", "["
+                + "{\"postId\":1,\"id\":1,\"name\":\"Comment 1\",\"email\":\"a@test.com\",\"body\":\"Body 1\"},"
+                + "{\"postId\":1,\"id\":2,\"name\":\"Comment 2\",\"email\":\"b@test.com\",\"body\":\"Body 2\"}]");
+
+        StepVerifier.create(client.getPostWithComments("1"))
+                .assertNext(post -> assertEquals(2, post.getComments().size()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetPostByIdNotFoundMapsToSystemException() {
+        StepVerifier.create(client.getPostById("99"))
+                .expectErrorSatisfies(e -> {
+                    assertInstanceOf(SystemException.class, e);
+                    assertEquals(404, ((SystemException) e).getStatusCode());
+                    assertEquals("Cannot find a Post with id 99", e.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void testGetPostWithCommentsNotFound() {
+        respond("https://jsonplaceholder.typicode.com/posts/99/comments", "[]");
+
+        StepVerifier.create(client.getPostWithComments("99"))
+                .expectErrorSatisfies(e -> assertEquals(404, ((SystemException) e).getStatusCode()))
+                .verify();
+    }
+
+    private void respond(String url, String json) {
+        responses.put(url, ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+}
@@ -0,0 +1,59 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @Test
+    void testStartsWithFullAllowance() {
+        RetryBudget budget = new RetryBudget(0.1, 2);
+
+        budget.onRetry();
+        assertTrue(budget.hasRetry());
+        budget.onRetry();
+        assertFalse(budget.hasRetry());
+    }
+
+    @Test
+    void testRequestsEarnRetries() {
+        RetryBudget budget = new RetryBudget(0.1, 1);
+        budget.onRetry();
+
+        for (int i = 0; i < 9; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.hasRetry());
+
+        budget.onRequest();
+        assertTrue(budget.hasRetry());
+    }
+
+    @Test
+    void testBalanceIsCapped() {
+        RetryBudget budget = new RetryBudget(0.5, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+
+        assertEquals(3.0, budget.availableRetries());
+    }
+
+    @Test
+    void testOverdraftIsPaidBackByLaterRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+
+        budget.onRetry();
+        budget.onRetry();
+        assertEquals(-1.0, budget.availableRetries());
+
+        for (int i = 0; i < 4; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.hasRetry());
+    }
+}
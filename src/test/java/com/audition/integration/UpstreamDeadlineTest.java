@@ -0,0 +1,81 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class UpstreamDeadlineTest {
+
+    @Test
+    void testNoDeadlineOutsideOfCall() {
+        assertNull(UpstreamDeadline.remaining());
+
+        UpstreamDeadline.within(Duration.ofSeconds(1), UpstreamDeadline::remaining);
+
+        assertNull(UpstreamDeadline.remaining());
+    }
+
+    @Test
+    void testSoonerOuterDeadlineWins() {
+        final Duration remaining = UpstreamDeadline.within(Duration.ofMillis(100),
+            () -> UpstreamDeadline.within(Duration.ofMinutes(1), UpstreamDeadline::remaining));
+
+        assertTrue(remaining.compareTo(Duration.ofMillis(100)) <= 0, "remaining " + remaining);
+    }
+
+    @Test
+    void testDeadlineIsCarriedToAnotherThread() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Duration remaining = UpstreamDeadline.within(Duration.ofSeconds(1),
+                () -> CompletableFuture.supplyAsync(UpstreamDeadline.propagate(UpstreamDeadline::remaining), executor)
+                    .join());
+
+            assertTrue(remaining.compareTo(Duration.ZERO) > 0 && remaining.compareTo(Duration.ofSeconds(1)) <= 0,
+                "remaining " + remaining);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAbortRunsWhenDeadlinePasses() throws InterruptedException {
+        final CountDownLatch aborted = new CountDownLatch(1);
+
+        UpstreamDeadline.within(Duration.ofMillis(50), () -> {
+            UpstreamDeadline.abortOnExpiry(aborted::countDown);
+            return awaitQuietly(aborted);
+        });
+
+        assertTrue(aborted.await(0, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAbortIsDroppedWhenCallFinishesInTime() throws InterruptedException {
+        final CountDownLatch aborted = new CountDownLatch(1);
+
+        UpstreamDeadline.within(Duration.ofMillis(50), () -> {
+            UpstreamDeadline.abortOnExpiry(aborted::countDown);
+            return null;
+        });
+
+        assertFalse(aborted.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static boolean awaitQuietly(final CountDownLatch latch) {
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics();
+
+    UpstreamMetricsTest() {
+        upstreamMetrics.bindTo(registry);
+    }
+
+    @Test
+    void testRecordsSuccessfulAttempts() {
+        String operation = upstreamMetrics.record("getPosts", UpstreamMetrics::currentOperation);
+
+        assertEquals("getPosts", operation);
+        assertEquals(UpstreamMetrics.UNKNOWN_OPERATION, UpstreamMetrics.currentOperation());
+        assertEquals(1, timerCount("getPosts", "SUCCESS", "2xx"));
+    }
+
+    @Test
+    void testRecordsFailedAttemptsByStatusClass() {
+        assertThrows(HttpClientErrorException.class, () -> upstreamMetrics.record("getPostById", () -> {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+        }));
+        assertThrows(ResourceAccessException.class, () -> upstreamMetrics.record("getPostById", () -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+
+        assertEquals(1, timerCount("getPostById", "CLIENT_ERROR", "4xx"));
+        assertEquals(1, timerCount("getPostById", "IO_ERROR", "none"));
+    }
+
+    private long timerCount(final String operation, final String outcome, final String status) {
+        return registry.get(UpstreamMetrics.REQUESTS_METRIC)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .tag("status", status)
+            .timer()
+            .count();
+    }
+}
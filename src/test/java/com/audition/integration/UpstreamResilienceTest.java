@@ -0,0 +1,159 @@
+package com.audition.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.configuration.ResilienceProperties;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+class UpstreamResilienceTest {
+
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties.getRetry().setMaxAttempts(3);
+        properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+    }
+
+    @Test
+    void testClientErrorsAreNeitherRetriedNorRecorded() {
+        final UpstreamResilience resilience = resilience();
+
+        for (int i = 0; i < 5; i++) {
+            final HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
+                () -> resilience.call("getPostById", () -> {
+                    attempts.incrementAndGet();
+                    throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+                }));
+            assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        }
+
+        assertEquals(5, attempts.get());
+        assertEquals("ok", resilience.call("getPostById", () -> "ok"));
+    }
+
+    @Test
+    void testRetriesStopOnceTheBudgetIsSpent() {
+        properties.getRetryBudget().setRatio(0);
+        properties.getRetryBudget().setMaxRetries(1);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(100);
+        final UpstreamResilience resilience = resilience();
+
+        assertThrows(UpstreamUnavailableException.class, () -> resilience.call("getPosts", this::failing));
+        assertEquals(2, attempts.get());
+
+        assertThrows(UpstreamUnavailableException.class, () -> resilience.call("getPosts", this::failing));
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testFailedLastAttemptIsNotChargedAsRetry() {
+        properties.getRetryBudget().setRatio(0);
+        properties.getRetryBudget().setMaxRetries(5);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(100);
+        final UpstreamResilience resilience = resilience();
+
+        assertThrows(UpstreamUnavailableException.class, () -> resilience.call("getPosts", this::failing));
+
+        assertEquals(3, attempts.get());
+        assertEquals(3.0, availableRetries());
+    }
+
+    @Test
+    void testReactiveCallDepositsIntoTheBudgetOnce() {
+        properties.getRetryBudget().setRatio(0.25);
+        properties.getRetryBudget().setMaxRetries(2);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(100);
+        final UpstreamResilience resilience = resilience();
+        final Mono<String> call = Mono.fromSupplier(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ResourceAccessException("upstream down");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resilience.decorate("getPosts", call).block());
+
+        assertEquals(3, attempts.get());
+        assertEquals(0.0, availableRetries());
+    }
+
+    @Test
+    void testOpenCircuitBecomesUnavailable() {
+        properties.getRetry().setMaxAttempts(1);
+        final UpstreamResilience resilience = resilience();
+        assertThrows(UpstreamUnavailableException.class, () -> resilience.call("getPosts", this::failing));
+        assertThrows(UpstreamUnavailableException.class, () -> resilience.call("getPosts", this::failing));
+
+        final UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+            () -> resilience.call("getPosts", this::failing));
+
+        assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void testFullBulkheadBecomesUnavailable() throws InterruptedException {
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        final UpstreamResilience resilience = resilience();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<String> running = CompletableFuture.supplyAsync(
+            () -> resilience.call("getPosts", () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "ok";
+            }));
+        try {
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            final UpstreamUnavailableException e = assertThrows(UpstreamUnavailableException.class,
+                () -> resilience.call("getPosts", () -> "ok"));
+
+            assertInstanceOf(BulkheadFullException.class, e.getCause());
+        } finally {
+            release.countDown();
+        }
+        assertEquals("ok", running.join());
+    }
+
+    private UpstreamResilience resilience() {
+        final UpstreamResilience resilience = new UpstreamResilience(properties);
+        resilience.bindTo(registry);
+        return resilience;
+    }
+
+    private String failing() {
+        attempts.incrementAndGet();
+        throw new ResourceAccessException("upstream down");
+    }
+
+    private double availableRetries() {
+        return registry.get("audition.upstream.retry.budget.available").gauge().value();
+    }
+}
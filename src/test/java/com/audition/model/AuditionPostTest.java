@@ -0,0 +1,54 @@
+package com.audition.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AuditionPostTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testDecodesFromUpstreamJson() throws JsonProcessingException {
+        AuditionPost post = objectMapper.readValue(
+            "{\"userId\":2,\"id\":7,\"title\":\"Title\",\"body\":\"Body\",\"unknown\":true}", AuditionPost.class);
+
+        assertEquals(2, post.getUserId());
+        assertEquals(7, post.getId());
+        assertEquals("Title", post.getTitle());
+        assertNull(post.getComments());
+    }
+
+    @Test
+    void testCommentsAreReadOnlyAndNotCopiedOnRead() {
+        AuditionPost post = new AuditionPost(1, 1, "Title", "Body", "News",
+            List.of(new Comment(1, 1, "Name", "a@test.com", "Body")));
+
+        assertSame(post.getComments(), post.getComments());
+        assertThrows(UnsupportedOperationException.class, () -> post.getComments().clear());
+    }
+
+    @Test
+    void testWithCommentsLeavesOriginalUnchanged() {
+        AuditionPost post = new AuditionPost(1, 1, "Title", "Body", "News", null);
+
+        AuditionPost withComments = post.withComments(List.of(new Comment(1, 1, "Name", "a@test.com", "Body")));
+
+        assertNull(post.getComments());
+        assertEquals(1, withComments.getComments().size());
+    }
+
+    @Test
+    void testRepeatedValuesAreShared() {
+        AuditionPost first = new AuditionPost(1, 1, "Title", "Body", new String("News"), null);
+        AuditionPost second = new AuditionPost(1, 2, "Title", "Body", new String("News"), null);
+
+        assertSame(first.getCategory(), second.getCategory());
+    }
+}
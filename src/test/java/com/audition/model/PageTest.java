@@ -0,0 +1,73 @@
+package com.audition.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PageTest {
+
+    private final List<Comment> comments = IntStream.of(2, 4, 6, 8, 10)
+        .mapToObj(id -> new Comment(id, 1, "Comment " + id, "c" + id + "@test.com", "Body"))
+        .toList();
+
+    @Test
+    void testUnpagedReturnsEverything() {
+        Page<Comment> page = Page.of(comments, Comment::getId, PageQuery.of(null, null, null));
+
+        assertEquals(comments, page.getItems());
+        assertNull(page.getNextPage());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testPageByNumber() {
+        Page<Comment> first = Page.of(comments, Comment::getId, PageQuery.of(0, 2, null));
+        Page<Comment> last = Page.of(comments, Comment::getId, PageQuery.of(2, 2, null));
+
+        assertEquals(List.of(2, 4), ids(first));
+        assertEquals(1, first.getNextPage());
+        assertEquals(List.of(10), ids(last));
+        assertNull(last.getNextPage());
+        assertEquals(5, last.getTotalElements());
+    }
+
+    @Test
+    void testPageBeyondTheEndIsEmpty() {
+        assertTrue(Page.of(comments, Comment::getId, PageQuery.of(9, 2, null)).getItems().isEmpty());
+    }
+
+    @Test
+    void testPageByCursorFollowsChain() {
+        Page<Comment> first = Page.of(comments, Comment::getId, PageQuery.of(null, 2, null));
+        Page<Comment> second = Page.of(comments, Comment::getId, PageQuery.of(null, 2, first.getNextCursor()));
+        Page<Comment> third = Page.of(comments, Comment::getId, PageQuery.of(null, 2, second.getNextCursor()));
+
+        assertEquals(List.of(6, 8), ids(second));
+        assertEquals(List.of(10), ids(third));
+        assertNull(third.getNextCursor());
+    }
+
+    @Test
+    void testCursorSurvivesRemovedItem() {
+        Page<Comment> page = Page.of(comments, Comment::getId, PageQuery.of(null, 2, PageQuery.encodeCursor(5)));
+
+        assertEquals(List.of(6, 8), ids(page));
+    }
+
+    @Test
+    void testInvalidParametersAreRejected() {
+        assertEquals(400, assertThrows(SystemException.class, () -> PageQuery.of(0, 0, null)).getStatusCode());
+        assertEquals(400, assertThrows(SystemException.class, () -> PageQuery.of(-1, 10, null)).getStatusCode());
+        assertEquals(400, assertThrows(SystemException.class, () -> PageQuery.of(null, 10, "bogus")).getStatusCode());
+    }
+
+    private static List<Integer> ids(final Page<Comment> page) {
+        return page.getItems().stream().map(Comment::getId).toList();
+    }
+}
@@ -1,19 +1,40 @@
 package com.audition.service;
 
 import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.ResilienceProperties;
+import com.audition.configuration.UpstreamClientProperties;
 import com.audition.integration.AuditionIntegrationClient;
+import com.audition.integration.PostLookupBatcher;
+import com.audition.integration.UpstreamResilience;
 import com.audition.model.AuditionPost;
 import com.audition.model.Comment;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,9 +50,34 @@ class AuditionIntegrationClientTest {
     @InjectMocks
     private AuditionIntegrationClient auditionIntegrationClient;
 
+    private final ExecutorService upstreamExecutor = Executors.newFixedThreadPool(2);
+
+    private final UpstreamClientProperties upstreamClientProperties = new UpstreamClientProperties();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamExecutor", upstreamExecutor);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamClientProperties", upstreamClientProperties);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamResilience",
+                new UpstreamResilience(new ResilienceProperties()));
+        ReflectionTestUtils.setField(auditionIntegrationClient, "objectMapper", objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstreamExecutor.shutdownNow();
+    }
+
+    private void stubArray(String url, Object[] elements) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(
+                            new MockClientHttpResponse(objectMapper.writeValueAsBytes(elements), HttpStatus.OK));
+                });
     }
 
     @Test
@@ -40,14 +86,14 @@ class AuditionIntegrationClientTest {
                 new AuditionPost(1, 1, "Post 1", "Body 1", "Category1",null),
                 new AuditionPost(2, 2, "Post 2", "Body 2", "Category2",null)
         };
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-                .thenReturn(postsArray);
+        stubArray("https://jsonplaceholder.typicode.com/posts", postsArray);
 
         List<AuditionPost> posts = auditionIntegrationClient.getPosts(null);
 
         assertNotNull(posts);
         assertEquals(2, posts.size());
-        verify(restTemplate, times(1)).getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class);
+        verify(restTemplate, times(1)).execute(eq("https://jsonplaceholder.typicode.com/posts"), eq(HttpMethod.GET),
+                any(RequestCallback.class), any(ResponseExtractor.class));
     }
 
     @Test
@@ -56,15 +102,15 @@ class AuditionIntegrationClientTest {
                 new AuditionPost(1, 1, "Post 1", "Body 1", "Category1",null),
                 new AuditionPost(2, 2, "Post 2", "Body 2", "Category2",null)
         };
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class))
-                .thenReturn(postsArray);
+        stubArray("https://jsonplaceholder.typicode.com/posts", postsArray);
 
         List<AuditionPost> posts = auditionIntegrationClient.getPosts("Category1");
 
         assertNotNull(posts);
         assertEquals(1, posts.size());
         assertEquals("Category1", posts.get(0).getCategory());
-        verify(restTemplate, times(1)).getForObject("https://jsonplaceholder.typicode.com/posts", AuditionPost[].class);
+        verify(restTemplate, times(1)).execute(eq("https://jsonplaceholder.typicode.com/posts"), eq(HttpMethod.GET),
+                any(RequestCallback.class), any(ResponseExtractor.class));
     }
 
     @Test
@@ -95,6 +141,20 @@ class AuditionIntegrationClientTest {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+    @Test
+    void testGetBatchedPostByIdNotFound() {
+        PostLookupBatcher postLookupBatcher = mock(PostLookupBatcher.class);
+        when(postLookupBatcher.getPostById(7)).thenReturn(null);
+        ReflectionTestUtils.setField(auditionIntegrationClient, "postLookupBatcher", postLookupBatcher);
+
+        SystemException exception = assertThrows(SystemException.class, () -> {
+            auditionIntegrationClient.getPostById("7");
+        });
+
+        assertEquals(404, exception.getStatusCode());
+        verifyNoInteractions(restTemplate);
+    }
+
     @Test
     void testGetPostWithComments() {
         Comment[] commentsArray = {
@@ -118,25 +178,143 @@ class AuditionIntegrationClientTest {
         verify(restTemplate, times(1)).getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", Comment[].class);
     }
 
+    @Test
+    void testGetPostWithCommentsSkipsNullComments() {
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
+                .thenReturn(new AuditionPost(1, 1, "Post 1", "Body 1", "Category1", null));
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", Comment[].class))
+                .thenReturn(new Comment[] {null, new Comment(2, 1, "Comment 2", "comment2@test.com", "Body 2"), null});
+
+        AuditionPost result = auditionIntegrationClient.getPostWithComments("1");
+
+        assertEquals(List.of(2), result.getComments().stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void testGetPostWithCommentsNotFound() {
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", Comment[].class))
+                .thenReturn(new Comment[0]);
+
+        SystemException exception = assertThrows(SystemException.class, () -> {
+            auditionIntegrationClient.getPostWithComments("1");
+        });
+
+        assertEquals(404, exception.getStatusCode());
+        assertTrue(exception.getMessage().contains("Cannot find a Post with id 1"));
+    }
+
+    @Test
+    void testGetPostWithCommentsTimesOut() {
+        upstreamClientProperties.setFanOutTimeout(Duration.ofMillis(50));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
+                .thenAnswer(invocation -> {
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return new AuditionPost(1, 1, "Post 1", "Body 1", null, null);
+                });
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1/comments", Comment[].class))
+                .thenReturn(new Comment[0]);
+
+        SystemException exception = assertThrows(SystemException.class, () -> {
+            auditionIntegrationClient.getPostWithComments("1");
+        });
+
+        assertEquals(504, exception.getStatusCode());
+        assertTrue(interrupted.await(500, TimeUnit.MILLISECONDS), "the abandoned fetch was not interrupted");
+    }
+
+    @Test
+    void testGetPostWithCommentsRejectedWhenSaturated() {
+        ExecutorService saturated = Executors.newSingleThreadExecutor();
+        saturated.shutdown();
+        ReflectionTestUtils.setField(auditionIntegrationClient, "upstreamExecutor", saturated);
+
+        SystemException exception = assertThrows(SystemException.class, () -> {
+            auditionIntegrationClient.getPostWithComments("1");
+        });
+
+        assertEquals(503, exception.getStatusCode());
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    void testGetCommentsForPostWithLeadingZeroId() {
+        Comment[] commentsArray = {
+                new Comment(1, 1, "Comment 1", "comment1@test.com", "Body 1"),
+                new Comment(2, 2, "Other post", "comment2@test.com", "Body 2")
+        };
+        stubArray("https://jsonplaceholder.typicode.com/comments?postId=01", commentsArray);
+
+        List<Comment> comments = auditionIntegrationClient.getCommentsForPost("01");
+
+        assertEquals(List.of(1), comments.stream().map(Comment::getId).toList());
+    }
+
     @Test
     void testGetCommentsForPost() {
         Comment[] commentsArray = {
                 new Comment(1, 1, "Comment 1", "comment1@test.com", "Body 1"),
                 new Comment(2, 1, "Comment 2", "comment2@test.com", "Body 2")
         };
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", Comment[].class))
-                .thenReturn(commentsArray);
+        stubArray("https://jsonplaceholder.typicode.com/comments?postId=1", commentsArray);
 
         List<Comment> comments = auditionIntegrationClient.getCommentsForPost("1");
 
         assertNotNull(comments);
         assertEquals(2, comments.size());
-        verify(restTemplate, times(1)).getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", Comment[].class);
+        verify(restTemplate, times(1)).execute(eq("https://jsonplaceholder.typicode.com/comments?postId=1"),
+                eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class));
+    }
+
+    @Test
+    void testGetCommentsForPostsUsesSingleQuery() {
+        Comment[] commentsArray = {
+                new Comment(1, 1, "Comment 1", "comment1@test.com", "Body 1"),
+                new Comment(2, 2, "Comment 2", "comment2@test.com", "Body 2"),
+                new Comment(3, 2, "Comment 3", "comment3@test.com", "Body 3")
+        };
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1&postId=2", Comment[].class))
+                .thenReturn(commentsArray);
+
+        Map<Integer, List<Comment>> comments = auditionIntegrationClient.getCommentsForPosts(List.of(1, 2));
+
+        assertEquals(1, comments.get(1).size());
+        assertEquals(2, comments.get(2).size());
+        verify(restTemplate, times(1)).getForObject("https://jsonplaceholder.typicode.com/comments?postId=1&postId=2", Comment[].class);
+    }
+
+    @Test
+    void testGetPostByIdRetriesServerErrors() {
+        AuditionPost post = new AuditionPost(1, 1, "Post 1", "Body 1", "Category1",null);
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(post);
+
+        assertEquals(post, auditionIntegrationClient.getPostById("1"));
+        verify(restTemplate, times(2)).getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class);
+    }
+
+    @Test
+    void testGetPostByIdUpstreamUnavailable() {
+        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> auditionIntegrationClient.getPostById("1"));
+        verify(restTemplate, times(3)).getForObject("https://jsonplaceholder.typicode.com/posts/1", AuditionPost.class);
     }
 
     @Test
     void testGetCommentsForPostNotFound() {
-        when(restTemplate.getForObject("https://jsonplaceholder.typicode.com/comments?postId=1", Comment[].class))
+        when(restTemplate.execute(eq("https://jsonplaceholder.typicode.com/comments?postId=1"), eq(HttpMethod.GET),
+                any(RequestCallback.class), any(ResponseExtractor.class)))
                 .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
 
         Exception exception = assertThrows(SystemException.class, () -> {
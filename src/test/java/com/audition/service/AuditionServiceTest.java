@@ -0,0 +1,153 @@
+package com.audition.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.audition.common.cache.CacheOutcome;
+import com.audition.common.cache.RefreshingSnapshot;
+import com.audition.common.exception.SystemException;
+import com.audition.common.exception.UpstreamUnavailableException;
+import com.audition.common.logging.AuditionLogger;
+import com.audition.configuration.AuditionCacheProperties;
+import com.audition.configuration.SnapshotProperties;
+import com.audition.configuration.UpstreamClientProperties;
+import com.audition.integration.AuditionIntegrationClient;
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class AuditionServiceTest {
+
+    private final AuditionIntegrationClient client = mock(AuditionIntegrationClient.class);
+    private final AuditionCaches caches = new AuditionCaches(new AuditionCacheProperties());
+    private final SnapshotProperties snapshotProperties = new SnapshotProperties();
+    private final UpstreamClientProperties upstreamClientProperties = new UpstreamClientProperties();
+    private final ExecutorService upstreamExecutor = Executors.newFixedThreadPool(4);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private AuditionService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        snapshotProperties.setEnabled(false);
+        service = new AuditionService(client, caches, mock(RefreshingSnapshot.class), mock(RefreshingSnapshot.class),
+            snapshotProperties, upstreamExecutor, upstreamClientProperties, mock(AuditionLogger.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        upstreamExecutor.shutdownNow();
+    }
+
+    @Test
+    void testBatchCollapsesDuplicatesAndKeepsRequestOrder() {
+        when(client.getPostById("3")).thenReturn(post(3));
+        when(client.getPostById("1")).thenReturn(post(1));
+
+        final List<AuditionPost> posts = service.getPostsBatch(List.of("3", " 1", "3"), false);
+
+        assertEquals(List.of(3, 1), posts.stream().map(AuditionPost::getId).toList());
+        verify(client, times(1)).getPostById("3");
+    }
+
+    @Test
+    void testBatchLeavesOutMissingPosts() {
+        when(client.getPostById("1")).thenReturn(post(1));
+        when(client.getPostById("2")).thenThrow(new SystemException("Cannot find a Post with id 2", "Not Found", 404));
+
+        final List<AuditionPost> posts = service.getPostsBatch(List.of("1", "2"), false);
+
+        assertEquals(List.of(1), posts.stream().map(AuditionPost::getId).toList());
+    }
+
+    @Test
+    void testBatchRejectsTooManyIds() {
+        upstreamClientProperties.setMaxBatchSize(2);
+
+        final SystemException e = assertThrows(SystemException.class,
+            () -> service.getPostsBatch(List.of("1", "2", "3"), false));
+
+        assertEquals(400, e.getStatusCode());
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void testBatchFetchesCommentsWithOneQuery() {
+        when(client.getPostById(anyString())).thenAnswer(invocation -> post(Integer.parseInt(invocation.getArgument(0))));
+        when(client.getCommentsForPosts(List.of(1, 2))).thenReturn(Map.of(1, List.of(comment(11, 1), comment(10, 1))));
+
+        final List<AuditionPost> posts = service.getPostsBatch(List.of("1", "2"), true);
+
+        assertEquals(List.of(10, 11), posts.get(0).getComments().stream().map(Comment::getId).toList());
+        assertEquals(List.of(), posts.get(1).getComments());
+        verify(client, times(1)).getCommentsForPosts(any());
+        verify(client, never()).getCommentsForPost(anyString());
+    }
+
+    @Test
+    void testBatchServesStaleCommentsAndMarksTheRequestStale() {
+        caches.getComments().putStale("1", List.of(comment(10, 1)));
+        when(client.getPostById("1")).thenReturn(post(1));
+        when(client.getCommentsForPosts(List.of(1)))
+            .thenThrow(new UpstreamUnavailableException("upstream down", new RuntimeException()));
+
+        final List<AuditionPost> posts = service.getPostsBatch(List.of("1"), true);
+
+        assertEquals(List.of(10), posts.get(0).getComments().stream().map(Comment::getId).toList());
+        assertEquals(CacheOutcome.STALE, CacheOutcome.of(request));
+    }
+
+    @Test
+    void testBatchCancelsCommentsWhenPostsFail() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        when(client.getCommentsForPosts(List.of(1))).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+            return Map.of();
+        });
+        when(client.getPostById("1")).thenAnswer(invocation -> {
+            started.await(1, TimeUnit.SECONDS);
+            throw new SystemException("Upstream error", "Bad Gateway", 502);
+        });
+
+        final SystemException e = assertThrows(SystemException.class, () -> service.getPostsBatch(List.of("1"), true));
+
+        assertEquals(502, e.getStatusCode());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "the comments query was not cancelled");
+    }
+
+    private static AuditionPost post(final int id) {
+        return new AuditionPost(1, id, "Post " + id, "Body " + id, null, null);
+    }
+
+    private static Comment comment(final int id, final int postId) {
+        return new Comment(id, postId, "Name", "a@example.com", "Comment " + id);
+    }
+}
@@ -0,0 +1,46 @@
+package com.audition.service;
+
+import com.audition.model.Comment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommentIndexTest {
+
+    private final CommentIndex index = CommentIndex.of(List.of(
+            new Comment(5, 2, "Comment 5", "a@test.com", "Body 5"),
+            new Comment(1, 1, "Comment 1", "a@test.com", "Body 1"),
+            new Comment(3, 2, "Comment 3", "b@test.com", "Body 3"),
+            new Comment(2, 9, "Comment 2", "c@test.com", "Body 2")
+    ));
+
+    @Test
+    void testFindByPostIdGroupsAndOrdersById() {
+        List<Comment> comments = index.findByPostId(2);
+
+        assertEquals(List.of(3, 5), comments.stream().map(Comment::getId).toList());
+        assertEquals(1, index.findByPostId(9).size());
+        assertSame(comments, index.findByPostId(2));
+        assertThrows(UnsupportedOperationException.class, () -> comments.clear());
+    }
+
+    @Test
+    void testFindByPostIdWithoutCommentsIsEmpty() {
+        assertTrue(index.findByPostId(3).isEmpty());
+        assertTrue(index.findByPostId(100).isEmpty());
+        assertTrue(CommentIndex.of(List.of()).findByPostId(1).isEmpty());
+    }
+
+    @Test
+    void testForEachPostVisitsPostsInOrder() {
+        List<Integer> postIds = new ArrayList<>();
+        index.forEachPost((comments, postId) -> postIds.add(postId));
+
+        assertEquals(List.of(1, 2, 9), postIds);
+        assertEquals(3, index.postCount());
+        assertEquals(4, index.size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostIndexTest {
+
+    private final PostIndex index = PostIndex.of(List.of(
+            new AuditionPost(1, 1, "Post 1", "Body 1", "News", null),
+            new AuditionPost(1, 2, "Post 2", "Body 2", "Sport", null),
+            new AuditionPost(2, 3, "Post 3", "Body 3", "news", null),
+            new AuditionPost(2, 4, "Post 4", "Body 4", null, null)
+    ));
+
+    @Test
+    void testFindByCategoryIgnoresCase() {
+        List<AuditionPost> news = index.findByCategory("NEWS");
+
+        assertEquals(2, news.size());
+        assertEquals(1, news.get(0).getId());
+        assertEquals(3, news.get(1).getId());
+    }
+
+    @Test
+    void testFindByCategoryReturnsSharedImmutableList() {
+        assertSame(index.findByCategory("news"), index.findByCategory("News"));
+        assertThrows(UnsupportedOperationException.class, () -> index.findByCategory("news").clear());
+    }
+
+    @Test
+    void testFindByCategoryWithoutCategoryReturnsAll() {
+        assertEquals(4, index.findByCategory(null).size());
+        assertEquals(4, index.findByCategory("").size());
+        assertTrue(index.findByCategory("unknown").isEmpty());
+    }
+
+    @Test
+    void testFindById() {
+        assertEquals("Post 2", index.findById(2).orElseThrow().getTitle());
+        assertTrue(index.findById(99).isEmpty());
+    }
+
+    @Test
+    void testFindByUserId() {
+        assertEquals(2, index.findByUserId(2).size());
+        assertTrue(index.findByUserId(3).isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    private static final Instant SAVED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSavedSnapshotLoadsBack() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshot.bin"));
+        List<AuditionPost> posts = List.of(
+                new AuditionPost(1, 1, "Post 1", "Body é", "News", null),
+                new AuditionPost(2, 2, null, "x".repeat(70_000), null, null));
+        Map<String, List<Comment>> comments = Map.of("1",
+                List.of(new Comment(10, 1, "Name", "a@example.com", "Comment"), new Comment(11, 1, null, null, "")));
+
+        store.save(posts, SAVED_AT, comments, null);
+        SnapshotStore.Contents contents = store.load().orElseThrow();
+
+        assertEquals(SAVED_AT, contents.postsFetchedAt());
+        assertEquals(2, contents.posts().size());
+        assertEquals("Body é", contents.posts().get(0).getBody());
+        assertNull(contents.posts().get(1).getTitle());
+        assertEquals(70_000, contents.posts().get(1).getBody().length());
+        assertEquals(List.of(10, 11), contents.comments().get("1").stream().map(Comment::getId).toList());
+        assertEquals("a@example.com", contents.comments().get("1").get(0).getEmail());
+        assertNull(contents.comments().get("1").get(1).getName());
+    }
+
+    @Test
+    void testSaveReplacesPreviousSnapshotWithoutLeavingTemporaryFiles() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshot.bin"));
+
+        store.save(List.of(new AuditionPost(1, 1, "Old", "Body", null, null)), SAVED_AT, Map.of(), null);
+        store.save(List.of(new AuditionPost(1, 1, "New", "Body", null, null)),
+                SAVED_AT.plusSeconds(60), Map.of(), null);
+
+        assertEquals("New", store.load().orElseThrow().posts().get(0).getTitle());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testUnchangedSnapshotIsNotWrittenAgain() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshot.bin"));
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Post", "Body", null, null));
+
+        assertTrue(store.save(posts, SAVED_AT, Map.of(), null));
+        assertFalse(store.save(List.of(new AuditionPost(1, 1, "Post", "Body", null, null)),
+                SAVED_AT.plusSeconds(60), Map.of(), null));
+
+        assertEquals(SAVED_AT, store.load().orElseThrow().postsFetchedAt());
+        assertTrue(store.save(List.of(new AuditionPost(1, 1, "Edited", "Body", null, null)),
+                SAVED_AT.plusSeconds(120), Map.of(), null));
+    }
+
+    @Test
+    void testCommentsCompletenessAndFetchTimesAreSaved() throws IOException {
+        SnapshotStore store = new SnapshotStore(directory.resolve("snapshot.bin"));
+        List<AuditionPost> posts = List.of(new AuditionPost(1, 1, "Post", "Body", null, null));
+
+        store.save(posts, SAVED_AT, Map.of(), null);
+        assertFalse(store.load().orElseThrow().commentsComplete());
+
+        assertTrue(store.save(posts, SAVED_AT.plusSeconds(60), Map.of(), SAVED_AT.plusSeconds(30)));
+        SnapshotStore.Contents contents = store.load().orElseThrow();
+        assertTrue(contents.commentsComplete());
+        assertEquals(SAVED_AT.plusSeconds(60), contents.postsFetchedAt());
+        assertEquals(SAVED_AT.plusSeconds(30), contents.commentsFetchedAt());
+    }
+
+    @Test
+    void testMissingSnapshotIsEmpty() throws IOException {
+        assertTrue(new SnapshotStore(directory.resolve("missing.bin")).load().isEmpty());
+    }
+
+    @Test
+    void testCorruptSnapshotIsRejected() throws IOException {
+        Path path = directory.resolve("snapshot.bin");
+        SnapshotStore store = new SnapshotStore(path);
+        store.save(List.of(new AuditionPost(1, 1, "Post 1", "Body 1", null, null)), SAVED_AT, Map.of(), null);
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 17] ^= 1;
+        Files.write(path, bytes);
+
+        assertThrows(IOException.class, store::load);
+
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, store::load);
+    }
+}
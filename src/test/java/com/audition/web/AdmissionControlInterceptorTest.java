@@ -0,0 +1,102 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.common.exception.SystemException;
+import com.audition.configuration.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class AdmissionControlInterceptorTest {
+
+    private static final Object HANDLER = new Object();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdmissionProperties properties = new AdmissionProperties();
+    private AdmissionControlInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties.setInitialLimit(10);
+        properties.setMinLimit(1);
+        properties.setMaxLatency(Duration.ofMinutes(1));
+        properties.getPriorities().put("/posts", AdmissionPriority.LOW);
+        interceptor = new AdmissionControlInterceptor(properties);
+        interceptor.bindTo(registry);
+    }
+
+    @Test
+    void testUpstreamUnavailableDoesNotLowerTheLimit() {
+        for (int i = 0; i < 5; i++) {
+            final MockHttpServletRequest request = request("/posts/{id}");
+            final MockHttpServletResponse response = new MockHttpServletResponse();
+            interceptor.preHandle(request, response, HANDLER);
+            response.setStatus(503);
+            interceptor.afterCompletion(request, response, HANDLER, null);
+        }
+
+        assertEquals(10, gauge("audition.admission.limit"));
+        assertEquals(0, gauge("audition.admission.inflight"));
+    }
+
+    @Test
+    void testLocalOverloadLowersTheLimit() {
+        final MockHttpServletRequest request = request("/posts/{id}");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, HANDLER);
+        AdmissionControlInterceptor.markOverloaded(request);
+        response.setStatus(503);
+        interceptor.afterCompletion(request, response, HANDLER, null);
+
+        assertEquals(9, gauge("audition.admission.limit"));
+    }
+
+    @Test
+    void testAsyncDispatchKeepsThePermitUntilItCompletes() {
+        final MockHttpServletRequest request = request("/posts");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, HANDLER);
+        interceptor.afterConcurrentHandlingStarted(request, response, HANDLER);
+        assertEquals(1, gauge("audition.admission.inflight"));
+
+        interceptor.preHandle(request, response, HANDLER);
+        assertEquals(1, gauge("audition.admission.inflight"));
+
+        interceptor.afterCompletion(request, response, HANDLER, null);
+        assertEquals(0, gauge("audition.admission.inflight"));
+    }
+
+    @Test
+    void testLowPriorityIsRejectedWithServiceUnavailable() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("/posts"), new MockHttpServletResponse(), HANDLER));
+        }
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final SystemException e = assertThrows(SystemException.class,
+            () -> interceptor.preHandle(request("/posts"), response, HANDLER));
+
+        assertEquals(503, e.getStatusCode());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1, registry.get("audition.admission.rejected").tag("priority", "low").functionCounter().count());
+        assertTrue(interceptor.preHandle(request("/posts/{id}"), new MockHttpServletResponse(), HANDLER));
+    }
+
+    private double gauge(final String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    private static MockHttpServletRequest request(final String pattern) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,96 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+    private static final Duration MAX_LATENCY = Duration.ofMinutes(1);
+
+    @Test
+    void testLowPriorityIsTurnedAwayBeforeHigh() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 10, 10, MAX_LATENCY, 0.9);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.LOW));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionPriority.LOW));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.HIGH));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionPriority.HIGH));
+        assertEquals(10, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitGrowsWhileItIsInUse() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, MAX_LATENCY, 0.9);
+
+        for (int round = 0; round < 50; round++) {
+            final int admitted = fill(limiter);
+            final long start = System.nanoTime();
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(start, false);
+            }
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testLimitIsLeftAloneWhileMostlyIdle() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, MAX_LATENCY, 0.9);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.NORMAL));
+            limiter.release(System.nanoTime(), false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void testOverloadBacksOffOnceForRequestsAdmittedTogether() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 10, 100, MAX_LATENCY, 0.9);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.HIGH));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            limiter.release(start, true);
+        }
+        assertEquals(90, limiter.getLimit());
+
+        assertTrue(limiter.tryAcquire(AdmissionPriority.HIGH));
+        limiter.release(System.nanoTime(), true);
+        assertEquals(81, limiter.getLimit());
+    }
+
+    @Test
+    void testSlowRequestsBackOffDownToTheMinimum() throws InterruptedException {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 10, 100, Duration.ofMillis(1), 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.HIGH));
+            final long start = System.nanoTime();
+            Thread.sleep(5);
+            limiter.release(start, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static int fill(final ConcurrencyLimiter limiter) {
+        int admitted = 0;
+        while (limiter.tryAcquire(AdmissionPriority.HIGH)) {
+            admitted++;
+        }
+        return admitted;
+    }
+}
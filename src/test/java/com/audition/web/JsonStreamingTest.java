@@ -0,0 +1,78 @@
+package com.audition.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.audition.model.Comment;
+import com.audition.web.advice.FieldProjection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonStreamingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<Comment> comments = List.of(
+        new Comment(1, 7, "First", "a@test.com", "Body 1"),
+        new Comment(2, 7, "Second", "b@test.com", "Body 2"));
+
+    JsonStreamingTest() {
+        FieldProjection.register(objectMapper);
+    }
+
+    @Test
+    void testWritesOneDocumentPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonStreaming.<Comment>ndjson(JsonStreaming.writerFor(objectMapper, Comment.class, "id,name"),
+            comments::forEach).writeTo(out);
+
+        assertEquals("{\"id\":1,\"name\":\"First\"}\n{\"id\":2,\"name\":\"Second\"}\n",
+            out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWritesChunkedArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonStreaming.<Comment>jsonArray(JsonStreaming.writerFor(objectMapper, Comment.class, "id"),
+            comments::forEach).writeTo(out);
+
+        assertEquals("[{\"id\":1},{\"id\":2}]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        JsonStreaming.<Comment>jsonArray(JsonStreaming.writerFor(objectMapper, Comment.class, null),
+            sink -> { }).writeTo(out);
+
+        assertEquals("[]", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWriteFailureSurfacesAsIoException() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () -> JsonStreaming.<Comment>ndjson(
+            JsonStreaming.writerFor(objectMapper, Comment.class, null), comments::forEach).writeTo(broken));
+
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package com.audition.web.advice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.audition.model.AuditionPost;
+import com.audition.model.Comment;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class FieldProjectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<AuditionPost> posts = List.of(new AuditionPost(1, 7, "Title", "Body", "News",
+        List.of(new Comment(1, 7, "Name", "a@test.com", "Comment body"))));
+
+    FieldProjectionTest() {
+        FieldProjection.register(objectMapper);
+    }
+
+    @Test
+    void testWritesEverythingByDefault() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(posts);
+
+        assertEquals(6, objectMapper.readTree(json).get(0).size());
+    }
+
+    @Test
+    void testWritesOnlySelectedFieldsOfTopLevelItems() throws JsonProcessingException {
+        Set<String> fields = FieldProjection.parseFields("id, title,,comments");
+
+        String json = objectMapper.writer(FieldProjection.forBody(posts, fields)).writeValueAsString(posts);
+
+        assertEquals("[{\"id\":7,\"title\":\"Title\",\"comments\":[{\"id\":1,\"postId\":7,\"name\":\"Name\","
+            + "\"email\":\"a@test.com\",\"body\":\"Comment body\"}]}]", json);
+    }
+
+    @Test
+    void testIgnoresOtherBodies() {
+        assertNull(FieldProjection.forBody(List.of(), Set.of("id")));
+        assertNull(FieldProjection.forBody("text", Set.of("id")));
+    }
+}
@@ -0,0 +1,116 @@
+package com.audition.web.advice;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.audition.configuration.ResponseCacheProperties;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class SerializedResponseAdviceTest {
+
+    private static final String ETAG = "\"abc\"";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<AuditionPost> posts = List.of(
+        new AuditionPost(1, 1, "Post 1", "Body 1".repeat(200), "News", null),
+        new AuditionPost(1, 2, "Post 2", "Body 2".repeat(200), "News", null));
+
+    private final SerializedResponseAdvice advice;
+
+    SerializedResponseAdviceTest() {
+        FieldProjection.register(objectMapper);
+        advice = new SerializedResponseAdvice(objectMapper, new ResponseCacheProperties());
+    }
+
+    @Test
+    void testWritesCompressedBytesWhenGzipIsAccepted() throws IOException {
+        MockHttpServletResponse response = write("gzip, deflate", ETAG);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("W/" + ETAG, response.getHeader(HttpHeaders.ETAG));
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))
+            .readAllBytes();
+        assertArrayEquals(objectMapper.writeValueAsBytes(posts), json);
+    }
+
+    @Test
+    void testWritesPlainBytesOtherwise() throws IOException {
+        MockHttpServletResponse response = write(null, ETAG);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(objectMapper.writeValueAsBytes(posts), response.getContentAsByteArray());
+    }
+
+    @Test
+    void testRepeatedResponsesAreServedFromCache() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        advice.bindTo(registry);
+
+        byte[] first = write("gzip", ETAG).getContentAsByteArray();
+        byte[] second = write("gzip", ETAG).getContentAsByteArray();
+
+        assertArrayEquals(first, second);
+        assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void testResponsesWithoutETagAreLeftToTheConverter() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/posts");
+
+        Object body = advice.beforeBodyWrite(posts, null, MediaType.APPLICATION_JSON,
+            MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(servletRequest),
+            new ServletServerHttpResponse(new MockHttpServletResponse()));
+
+        assertSame(posts, body);
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(SerializedResponseAdvice.acceptsGzip(acceptEncoding("br, gzip;q=0.8")));
+        assertFalse(SerializedResponseAdvice.acceptsGzip(acceptEncoding("gzip;q=0")));
+        assertFalse(SerializedResponseAdvice.acceptsGzip(acceptEncoding("identity")));
+    }
+
+    private MockHttpServletResponse write(final String acceptEncoding, final String eTag) throws IOException {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/posts");
+        if (acceptEncoding != null) {
+            servletRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        ServletServerHttpResponse response = new ServletServerHttpResponse(servletResponse);
+        response.getHeaders().setETag(eTag);
+
+        Object body = advice.beforeBodyWrite(posts, null, MediaType.APPLICATION_JSON,
+            MappingJackson2HttpMessageConverter.class, new ServletServerHttpRequest(servletRequest), response);
+        response.flush();
+
+        assertNull(body);
+        return servletResponse;
+    }
+
+    private static HttpHeaders acceptEncoding(final String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, value);
+        return headers;
+    }
+}